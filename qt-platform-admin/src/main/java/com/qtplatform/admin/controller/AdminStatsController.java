@@ -0,0 +1,60 @@
+package com.qtplatform.admin.controller;
+
+import com.qtplatform.common.response.ApiResponse;
+import com.qtplatform.product.dto.ProductStatsSummary;
+import com.qtplatform.product.dto.StatsBreakdownItem;
+import com.qtplatform.product.dto.StatsGranularity;
+import com.qtplatform.product.dto.StatsPoint;
+import com.qtplatform.product.service.StatsRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Download and view trends served from the stats_hourly and stats_daily rollups.
+ * Dates are calendar days in the {@code stats.rollup.zone} zone, both inclusive.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/stats")
+@PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private final StatsRollupService statsRollupService;
+
+    @GetMapping("/trend")
+    public ApiResponse<List<StatsPoint>> getTrend(
+            @RequestParam(defaultValue = "DAY") StatsGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long versionId,
+            @RequestParam(required = false) String platform,
+            @RequestParam(required = false) String country) {
+        return ApiResponse.success(statsRollupService.getTrend(granularity, from, to, productId, versionId,
+                platform, country));
+    }
+
+    @GetMapping("/top-products")
+    public ApiResponse<List<ProductStatsSummary>> getTopProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.success(statsRollupService.getTopProducts(from, to, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    @GetMapping("/breakdown")
+    public ApiResponse<List<StatsBreakdownItem>> getBreakdown(
+            @RequestParam String dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ApiResponse.success(statsRollupService.getBreakdown(dimension, from, to, productId,
+                Math.min(Math.max(limit, 1), 100)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.qtplatform.admin.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.qtplatform.comment.entity.ProductComment;
+import com.qtplatform.comment.repository.ProductCommentMapper;
+import com.qtplatform.common.service.DashboardCounterService;
+import com.qtplatform.product.entity.Product;
+import com.qtplatform.product.repository.ProductMapper;
+import com.qtplatform.user.repository.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Serves the dashboard from the incrementally maintained counters and periodically
+ * reconciles them against the tables. Only reconciliation runs the COUNT queries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStatsService {
+
+    private final DashboardCounterService dashboardCounterService;
+    private final UserMapper userMapper;
+    private final ProductMapper productMapper;
+    private final ProductCommentMapper commentMapper;
+
+    @Value("${dashboard.reconcile-interval-ms:600000}")
+    private long reconcileIntervalMs;
+
+    public Map<String, Long> getStats() {
+        return dashboardCounterService.snapshot().orElseGet(this::reconcile);
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.reconcile-interval-ms:600000}",
+            initialDelayString = "${dashboard.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        // Slightly shorter than the interval so the claim has lapsed by the next run
+        if (!dashboardCounterService.tryClaimReconciliation(Duration.ofMillis(reconcileIntervalMs * 9 / 10))) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Dashboard counter reconciliation failed", e);
+        }
+    }
+
+    public Map<String, Long> reconcile() {
+        Map<String, Long> counts = Map.of(
+                DashboardCounterService.USER_COUNT, userMapper.selectCount(null),
+                DashboardCounterService.PUBLISHED_PRODUCT_COUNT, productMapper.selectCount(
+                        new LambdaQueryWrapper<Product>().eq(Product::getStatus, "PUBLISHED")),
+                DashboardCounterService.TOTAL_PRODUCT_COUNT, productMapper.selectCount(null),
+                DashboardCounterService.PENDING_COMMENT_COUNT, commentMapper.selectCount(
+                        new LambdaQueryWrapper<ProductComment>().eq(ProductComment::getStatus, "PENDING")));
+        dashboardCounterService.reset(counts);
+        return counts;
+    }
+}
@@ -31,6 +31,16 @@ public class CommentController {
         return ApiResponse.success(commentService.getProductComments(productId, page, size, currentUserId));
     }
 
+    @GetMapping("/product/{productId}/scroll")
+    public ApiResponse<PageResponse<CommentVO>> scrollProductComments(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Long currentUserId = authentication != null ? (Long) authentication.getPrincipal() : null;
+        return ApiResponse.success(commentService.scrollProductComments(productId, cursor, Math.min(Math.max(size, 1), 100), currentUserId));
+    }
+
     @PostMapping("/product/{productId}")
     public ApiResponse<CommentVO> createComment(
             @PathVariable Long productId,
@@ -7,12 +7,19 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface CommentLikeMapper extends BaseMapper<CommentLike> {
 
     @Select("SELECT EXISTS(SELECT 1 FROM comment_likes WHERE comment_id = #{commentId} AND user_id = #{userId})")
     boolean existsByCommentAndUser(@Param("commentId") Long commentId, @Param("userId") Long userId);
 
+    @Select("<script>SELECT comment_id FROM comment_likes WHERE user_id = #{userId} AND comment_id IN " +
+            "<foreach collection='commentIds' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    List<Long> findLikedCommentIds(@Param("userId") Long userId, @Param("commentIds") Collection<Long> commentIds);
+
     @Delete("DELETE FROM comment_likes WHERE comment_id = #{commentId} AND user_id = #{userId}")
     int deleteByCommentAndUser(@Param("commentId") Long commentId, @Param("userId") Long userId);
 }
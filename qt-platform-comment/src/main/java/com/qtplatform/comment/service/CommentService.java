@@ -11,13 +11,20 @@ import com.qtplatform.comment.repository.ProductCommentMapper;
 import com.qtplatform.common.exception.BusinessException;
 import com.qtplatform.common.response.ErrorCode;
 import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.common.service.DashboardCounterService;
+import com.qtplatform.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,6 +34,7 @@ public class CommentService {
 
     private final ProductCommentMapper commentMapper;
     private final CommentLikeMapper commentLikeMapper;
+    private final DashboardCounterService dashboardCounterService;
 
     public PageResponse<CommentVO> getProductComments(Long productId, int page, int size, Long currentUserId) {
         Page<ProductComment> pageParam = new Page<>(page, size);
@@ -37,13 +45,26 @@ public class CommentService {
                 .orderByDesc(ProductComment::getCreatedAt);
 
         Page<ProductComment> result = commentMapper.selectPage(pageParam, wrapper);
-        List<CommentVO> vos = result.getRecords().stream()
-                .map(c -> toVOWithReplies(c, currentUserId))
-                .collect(Collectors.toList());
+        List<CommentVO> vos = loadThreads(result.getRecords(), currentUserId);
 
         return PageResponse.of(vos, result.getTotal(), page, size);
     }
 
+    /**
+     * Keyset pagination over a product's threads for infinite scrolling.
+     */
+    public PageResponse<CommentVO> scrollProductComments(Long productId, String cursor, int size, Long currentUserId) {
+        LambdaQueryWrapper<ProductComment> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ProductComment::getProductId, productId)
+                .eq(ProductComment::getStatus, "PUBLISHED")
+                .isNull(ProductComment::getParentId);
+        return KeysetCursor.scroll(cursor, size,
+                (after, limit) -> commentMapper.selectList(KeysetCursor.seek(wrapper, after, limit,
+                        ProductComment::getCreatedAt, ProductComment::getId)),
+                ProductComment::getCreatedAt, ProductComment::getId,
+                rows -> loadThreads(rows, currentUserId));
+    }
+
     @Transactional
     public CommentVO createComment(Long productId, CreateCommentRequest request, Long userId, String ipAddress) {
         // Check for duplicate rating
@@ -77,6 +98,7 @@ public class CommentService {
                 .ipAddress(ipAddress)
                 .build();
         commentMapper.insert(comment);
+        dashboardCounterService.adjust(DashboardCounterService.PENDING_COMMENT_COUNT, 1);
 
         log.info("Comment created: id={}, product={}, user={}", comment.getId(), productId, userId);
         return toVO(comment, false);
@@ -106,6 +128,8 @@ public class CommentService {
             throw new BusinessException(ErrorCode.ACCESS_DENIED);
         }
         commentMapper.deleteById(commentId);
+        dashboardCounterService.adjustForTransition(DashboardCounterService.PENDING_COMMENT_COUNT, "PENDING",
+                comment.getStatus(), null);
     }
 
     @Transactional
@@ -133,6 +157,8 @@ public class CommentService {
         if (comment == null) {
             throw new BusinessException(ErrorCode.COMMENT_NOT_FOUND);
         }
+        dashboardCounterService.adjustForTransition(DashboardCounterService.PENDING_COMMENT_COUNT, "PENDING",
+                comment.getStatus(), status);
         comment.setStatus(status);
         commentMapper.updateById(comment);
 
@@ -164,23 +190,43 @@ public class CommentService {
         return PageResponse.of(vos, result.getTotal(), page, size);
     }
 
-    private CommentVO toVOWithReplies(ProductComment comment, Long currentUserId) {
-        CommentVO vo = toVO(comment, currentUserId != null && commentLikeMapper.existsByCommentAndUser(comment.getId(), currentUserId));
+    /**
+     * Assembles comment threads for a page of top-level comments with one query for
+     * all replies and one for the viewer's likes, regardless of page size.
+     */
+    private List<CommentVO> loadThreads(List<ProductComment> topLevel, Long currentUserId) {
+        if (topLevel.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        // Load replies
+        List<Long> parentIds = topLevel.stream().map(ProductComment::getId).collect(Collectors.toList());
         LambdaQueryWrapper<ProductComment> replyWrapper = new LambdaQueryWrapper<>();
-        replyWrapper.eq(ProductComment::getParentId, comment.getId())
+        replyWrapper.in(ProductComment::getParentId, parentIds)
                 .eq(ProductComment::getStatus, "PUBLISHED")
                 .orderByAsc(ProductComment::getCreatedAt);
         List<ProductComment> replies = commentMapper.selectList(replyWrapper);
-        if (!replies.isEmpty()) {
-            vo.setReplies(replies.stream()
-                    .map(r -> toVO(r, currentUserId != null && commentLikeMapper.existsByCommentAndUser(r.getId(), currentUserId)))
-                    .collect(Collectors.toList()));
-        } else {
-            vo.setReplies(Collections.emptyList());
+
+        Set<Long> likedIds = Collections.emptySet();
+        if (currentUserId != null) {
+            List<Long> commentIds = new ArrayList<>(parentIds.size() + replies.size());
+            commentIds.addAll(parentIds);
+            replies.forEach(r -> commentIds.add(r.getId()));
+            likedIds = new HashSet<>(commentLikeMapper.findLikedCommentIds(currentUserId, commentIds));
+        }
+
+        Map<Long, List<CommentVO>> repliesByParent = new HashMap<>();
+        for (ProductComment reply : replies) {
+            repliesByParent.computeIfAbsent(reply.getParentId(), k -> new ArrayList<>())
+                    .add(toVO(reply, likedIds.contains(reply.getId())));
+        }
+
+        List<CommentVO> vos = new ArrayList<>(topLevel.size());
+        for (ProductComment comment : topLevel) {
+            CommentVO vo = toVO(comment, likedIds.contains(comment.getId()));
+            vo.setReplies(repliesByParent.getOrDefault(comment.getId(), Collections.emptyList()));
+            vos.add(vo);
         }
-        return vo;
+        return vos;
     }
 
     private CommentVO toVO(ProductComment c, boolean liked) {
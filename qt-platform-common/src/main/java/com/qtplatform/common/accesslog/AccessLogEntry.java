@@ -0,0 +1,26 @@
+package com.qtplatform.common.accesslog;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccessLogEntry {
+
+    private Long userId;
+    private String ipAddress;
+    private String userAgent;
+    private String requestMethod;
+    private String requestPath;
+    private String queryString;
+    private Integer responseStatus;
+    private Integer responseTime; // milliseconds
+    private String referer;
+    private OffsetDateTime createdAt;
+}
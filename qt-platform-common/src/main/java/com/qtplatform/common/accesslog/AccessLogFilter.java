@@ -0,0 +1,126 @@
+package com.qtplatform.common.accesslog;
+
+import com.qtplatform.common.config.AccessLogConfig;
+import com.qtplatform.common.util.IpUtil;
+import com.qtplatform.common.util.TextUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Captures one user_access_logs row per sampled request. Runs ahead of Spring Security
+ * so rejected requests are logged too; the authentication filter leaves the user id in
+ * {@link #USER_ID_ATTRIBUTE}. The sampling decision is made before anything is
+ * allocated, and server errors are always kept whatever the route's rate.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final int MAX_PATH_LENGTH = 500;
+    private static final int MAX_QUERY_LENGTH = 2000;
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+    private static final Set<String> SENSITIVE_PARAMS = Set.of(
+            "token", "access_token", "refresh_token", "code", "password", "secret", "key", "signature");
+
+    private final AccessLogService accessLogService;
+    private final AccessLogConfig accessLogConfig;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private List<AccessLogConfig.SamplingRule> rules;
+
+    @PostConstruct
+    public void init() {
+        rules = List.copyOf(accessLogConfig.getSampling());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLogConfig.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            String path = request.getRequestURI();
+            if (status >= 500 || sampled(path)) {
+                accessLogService.record(toEntry(request, path, status, start));
+            } else {
+                accessLogService.recordSampledOut();
+            }
+        }
+    }
+
+    private boolean sampled(String path) {
+        double rate = accessLogConfig.getDefaultSampleRate();
+        for (AccessLogConfig.SamplingRule rule : rules) {
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                rate = rule.getRate();
+                break;
+            }
+        }
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private AccessLogEntry toEntry(HttpServletRequest request, String path, int status, long start) {
+        return AccessLogEntry.builder()
+                .userId(request.getAttribute(USER_ID_ATTRIBUTE) instanceof Long id ? id : null)
+                .ipAddress(IpUtil.literalOrNull(IpUtil.getClientIp(request)))
+                .userAgent(TextUtil.truncate(request.getHeader(HttpHeaders.USER_AGENT), MAX_USER_AGENT_LENGTH))
+                .requestMethod(request.getMethod())
+                .requestPath(TextUtil.truncate(path, MAX_PATH_LENGTH))
+                .queryString(TextUtil.truncate(redact(request.getQueryString()), MAX_QUERY_LENGTH))
+                .responseStatus(status)
+                .responseTime((int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - start) / 1_000_000))
+                .referer(TextUtil.truncate(request.getHeader(HttpHeaders.REFERER), MAX_PATH_LENGTH))
+                .createdAt(OffsetDateTime.now())
+                .build();
+    }
+
+    // Credentials sometimes travel in query strings (verification links, OAuth codes)
+    private static String redact(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(query.length());
+        for (String param : query.split("&")) {
+            if (!out.isEmpty()) {
+                out.append('&');
+            }
+            int eq = param.indexOf('=');
+            String name = eq >= 0 ? param.substring(0, eq) : param;
+            if (eq >= 0 && SENSITIVE_PARAMS.contains(name.toLowerCase(Locale.ROOT))) {
+                out.append(name).append("=***");
+            } else {
+                out.append(param);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.qtplatform.common.accesslog;
+
+import com.qtplatform.common.config.AccessLogConfig;
+import com.qtplatform.common.repository.AccessLogMapper;
+import com.qtplatform.common.util.BatchingWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Asynchronous writer for user_access_logs, built on {@link BatchingWriter}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccessLogService {
+
+    private final AccessLogMapper accessLogMapper;
+    private final AccessLogConfig accessLogConfig;
+    private final MeterRegistry meterRegistry;
+
+    private BatchingWriter<AccessLogEntry> writer;
+    private Counter sampledOut;
+
+    @PostConstruct
+    public void init() {
+        writer = new BatchingWriter<>("access log entries", accessLogConfig.getBufferCapacity(),
+                accessLogConfig.getBatchSize(), accessLogMapper::insertBatch,
+                meterRegistry, "qt.access_log.entries", "qt.access_log.buffered");
+        sampledOut = meterRegistry.counter("qt.access_log.entries", "outcome", "sampled_out");
+    }
+
+    public void record(AccessLogEntry entry) {
+        writer.offer(entry);
+    }
+
+    public void recordSampledOut() {
+        sampledOut.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${access-log.flush-interval-ms:1000}",
+            initialDelayString = "${access-log.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        writer.flush();
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        writer.flush();
+    }
+}
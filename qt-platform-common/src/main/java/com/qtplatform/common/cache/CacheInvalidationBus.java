@@ -0,0 +1,298 @@
+package com.qtplatform.common.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qtplatform.common.constant.RedisKeys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cross-node invalidation for node-local caches. Events are queued, merged per region
+ * and published as one batch per flush; each batch carries a cluster-wide version from
+ * a Redis counter. Pub/sub is fire-and-forget, so a node that sees a version gap — or
+ * finds the counter ahead of what it received — reloads all its local caches.
+ *
+ * <p>Listener callbacks run in order on one dispatch thread, not on the Redis listener
+ * thread, so a cache that reloads from the database does not hold up message delivery.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final int MAX_EVENTS_PER_BATCH = 1000;
+    // Past this many missing versions a full reload is due anyway
+    private static final long MAX_TRACKED_GAP = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    // Resolved lazily: the caches themselves depend on this bus
+    private final ObjectProvider<CacheInvalidationListener> listeners;
+
+    @Value("${cache.invalidation.gap-grace-ms:2000}")
+    private long gapGraceMs;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentLinkedQueue<InvalidationEvent> outbox = new ConcurrentLinkedQueue<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("qt-cache-invalidation-"));
+    private final Object flushLock = new Object();
+
+    // Guarded by this: highest version seen and missing versions -> first noticed at
+    private long lastVersion = -1;
+    private final Map<Long, Long> missingVersions = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisKeys.CACHE_INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * Queues an invalidation for other nodes. Call it once the change is committed;
+     * the caller is expected to have updated its own node already.
+     */
+    public void publish(CacheRegion region, Collection<?> keys) {
+        outbox.add(new InvalidationEvent(region, keys.stream().map(String::valueOf).toList()));
+    }
+
+    public void publish(CacheRegion region, Object... keys) {
+        publish(region, Arrays.asList(keys));
+    }
+
+    public void publishAll(CacheRegion region) {
+        publish(region, List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.batch-interval-ms:100}")
+    public void scheduledFlush() {
+        while (!outbox.isEmpty()) {
+            if (!flush()) {
+                break;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        flush();
+        dispatcher.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.check-interval-ms:5000}",
+            initialDelayString = "${cache.invalidation.check-interval-ms:5000}")
+    public void checkVersion() {
+        long current;
+        try {
+            String value = stringRedisTemplate.opsForValue().get(RedisKeys.CACHE_INVALIDATION_VERSION);
+            current = value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            log.warn("Failed to read cache invalidation version: {}", e.getMessage());
+            return;
+        }
+
+        boolean reload;
+        synchronized (this) {
+            if (lastVersion < 0) {
+                lastVersion = current;
+                return;
+            }
+            if (current < lastVersion) {
+                // Counter was reset (Redis restarted or flushed); anything may have been lost
+                lastVersion = current;
+                missingVersions.clear();
+                reload = true;
+            } else {
+                reload = current > lastVersion && advanceTo(current, false);
+                long now = System.currentTimeMillis();
+                if (missingVersions.values().stream().anyMatch(noticed -> now - noticed >= gapGraceMs)) {
+                    missingVersions.clear();
+                    reload = true;
+                }
+            }
+        }
+        if (reload) {
+            dispatch(this::reloadAll);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Batch batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), Batch.class);
+        } catch (Exception e) {
+            log.warn("Discarding malformed cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (track(batch.getVersion())) {
+            dispatch(this::reloadAll);
+            return;
+        }
+        if (nodeId.equals(batch.getNodeId())) {
+            return;
+        }
+        dispatch(() -> apply(batch.getEvents()));
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Cache invalidation dispatcher stopped, dropping task");
+        }
+    }
+
+    private void apply(List<InvalidationEvent> events) {
+        for (InvalidationEvent event : events) {
+            for (CacheInvalidationListener listener : listeners) {
+                if (listener.region() != event.getRegion()) {
+                    continue;
+                }
+                try {
+                    if (event.isWholeRegion()) {
+                        listener.reload();
+                    } else {
+                        listener.invalidate(event.getKeys());
+                    }
+                } catch (Exception e) {
+                    log.error("Cache invalidation listener {} failed", listener.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+
+    private boolean flush() {
+        synchronized (flushLock) {
+            return doFlush();
+        }
+    }
+
+    private boolean doFlush() {
+        List<InvalidationEvent> drained = new ArrayList<>();
+        InvalidationEvent event;
+        while (drained.size() < MAX_EVENTS_PER_BATCH && (event = outbox.poll()) != null) {
+            drained.add(event);
+        }
+        if (drained.isEmpty()) {
+            return false;
+        }
+
+        try {
+            long version = stringRedisTemplate.opsForValue().increment(RedisKeys.CACHE_INVALIDATION_VERSION);
+            String json = objectMapper.writeValueAsString(new Batch(nodeId, version, merge(drained)));
+            stringRedisTemplate.convertAndSend(RedisKeys.CACHE_INVALIDATION_CHANNEL, json);
+            return true;
+        } catch (Exception e) {
+            // A consumed version without a message shows up as a gap on other nodes
+            log.warn("Failed to publish {} cache invalidations, will retry: {}", drained.size(), e.getMessage());
+            outbox.addAll(drained);
+            return false;
+        }
+    }
+
+    private List<InvalidationEvent> merge(List<InvalidationEvent> events) {
+        Map<CacheRegion, Set<String>> keysByRegion = new EnumMap<>(CacheRegion.class);
+        Set<CacheRegion> wholeRegions = EnumSet.noneOf(CacheRegion.class);
+        for (InvalidationEvent event : events) {
+            if (event.isWholeRegion()) {
+                wholeRegions.add(event.getRegion());
+            } else {
+                keysByRegion.computeIfAbsent(event.getRegion(), r -> new LinkedHashSet<>()).addAll(event.getKeys());
+            }
+        }
+
+        List<InvalidationEvent> merged = new ArrayList<>();
+        for (CacheRegion region : wholeRegions) {
+            merged.add(new InvalidationEvent(region, List.of()));
+        }
+        keysByRegion.forEach((region, keys) -> {
+            if (!wholeRegions.contains(region)) {
+                merged.add(new InvalidationEvent(region, new ArrayList<>(keys)));
+            }
+        });
+        return merged;
+    }
+
+    // Returns true when the gap is too large to track and a full reload is due
+    private synchronized boolean track(long version) {
+        if (lastVersion < 0) {
+            lastVersion = version;
+            return false;
+        }
+        if (version <= lastVersion) {
+            // Late arrival from a concurrent publisher, or a version the check already counted
+            missingVersions.remove(version);
+            return false;
+        }
+        return advanceTo(version, true);
+    }
+
+    // Records everything between lastVersion and version as missing, except version itself when received
+    private boolean advanceTo(long version, boolean received) {
+        long lastMissing = received ? version - 1 : version;
+        long gap = lastMissing - lastVersion;
+        boolean tooLarge = missingVersions.size() + gap > MAX_TRACKED_GAP;
+        if (tooLarge) {
+            missingVersions.clear();
+        } else {
+            long now = System.currentTimeMillis();
+            for (long v = lastVersion + 1; v <= lastMissing; v++) {
+                missingVersions.putIfAbsent(v, now);
+            }
+        }
+        lastVersion = version;
+        return tooLarge;
+    }
+
+    private void reloadAll() {
+        log.warn("Missed cache invalidations detected, reloading node-local caches");
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.reload();
+            } catch (Exception e) {
+                log.error("Cache reload failed for {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Batch {
+        private String nodeId;
+        private long version;
+        private List<InvalidationEvent> events;
+    }
+}
@@ -0,0 +1,21 @@
+package com.qtplatform.common.cache;
+
+import java.util.Collection;
+
+/**
+ * Implemented by node-local caches that must follow writes made on other nodes.
+ * Both callbacks run in message order on the bus's single dispatch thread. They may
+ * query the database, but a slow callback delays every invalidation queued after it,
+ * so heavy rebuilds should be kept short or handed off.
+ */
+public interface CacheInvalidationListener {
+
+    CacheRegion region();
+
+    void invalidate(Collection<String> keys);
+
+    /**
+     * Drops or rebuilds the whole region; also called when this node may have missed messages.
+     */
+    void reload();
+}
@@ -0,0 +1,11 @@
+package com.qtplatform.common.cache;
+
+/**
+ * Node-local cache families that can be invalidated across the cluster.
+ */
+public enum CacheRegion {
+    PRODUCT,
+    VERSION,
+    CATEGORY,
+    SYSTEM_CONFIG
+}
@@ -0,0 +1,23 @@
+package com.qtplatform.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Invalidation of some keys in one region; an empty key list means the whole region.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvalidationEvent {
+
+    private CacheRegion region;
+    private List<String> keys;
+
+    public boolean isWholeRegion() {
+        return keys == null || keys.isEmpty();
+    }
+}
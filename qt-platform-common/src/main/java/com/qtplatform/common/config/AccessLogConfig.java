@@ -0,0 +1,26 @@
+package com.qtplatform.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogConfig {
+
+    private boolean enabled = true;
+    private int bufferCapacity = 65536;
+    private int batchSize = 500;
+    private double defaultSampleRate = 1.0;
+    private List<SamplingRule> sampling = new ArrayList<>(); // first matching pattern wins
+
+    @Data
+    public static class SamplingRule {
+        private String pattern; // Ant-style, e.g. /api/v1/updates/**
+        private double rate; // 0 disables logging for the route, 1 logs every request
+    }
+}
@@ -0,0 +1,29 @@
+package com.qtplatform.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "jobs")
+public class JobConfig {
+
+    private boolean enabled = true;
+    private long pollIntervalMs = 1000;
+    private long heartbeatIntervalMs = 60000;
+    private int defaultConcurrency = 2;
+    private Map<String, Integer> concurrency = new HashMap<>(); // per job type
+    private int maxAttempts = 5;
+    private long backoffBaseMs = 5000; // doubled per attempt
+    private long backoffMaxMs = 600000;
+    private long staleAfterMs = 300000; // running jobs without a heartbeat this long are requeued
+    private int retentionDays = 7; // succeeded jobs are purged after this
+
+    public int concurrencyFor(String jobType) {
+        return concurrency.getOrDefault(jobType, defaultConcurrency);
+    }
+}
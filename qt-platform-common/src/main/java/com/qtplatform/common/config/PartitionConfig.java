@@ -0,0 +1,26 @@
+package com.qtplatform.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "partitions")
+public class PartitionConfig {
+
+    private boolean enabled = true;
+    private String archivePath = "./archive/partitions";
+    private List<Table> tables = new ArrayList<>();
+
+    @Data
+    public static class Table {
+        private String name; // parent of monthly partitions named <name>_YYYY_MM
+        private int premakeMonths = 3;
+        private int retentionMonths = 0; // 0 keeps every partition
+        private boolean archive = true; // write a gzipped CSV before dropping
+    }
+}
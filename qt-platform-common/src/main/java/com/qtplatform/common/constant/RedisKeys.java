@@ -7,6 +7,7 @@ public final class RedisKeys {
     // Auth
     public static final String AUTH_SESSION = "qt:auth:session:";
     public static final String AUTH_BLACKLIST = "qt:auth:blacklist:";
+    public static final String AUTH_REVOKED_CHANNEL = "qt:channel:auth:revoked";
 
     // User
     public static final String USER_INFO = "qt:user:info:";
@@ -22,6 +23,16 @@ public final class RedisKeys {
     // Stats
     public static final String STATS_DOWNLOAD = "qt:stats:download:";
     public static final String STATS_VIEW = "qt:stats:view:";
+    public static final String STATS_DASHBOARD = "qt:stats:dashboard";
+
+    // Cache invalidation
+    public static final String CACHE_INVALIDATION_CHANNEL = "qt:channel:cache:invalidation";
+    public static final String CACHE_INVALIDATION_VERSION = "qt:cache:invalidation:version";
+
+    // Maintenance locks
+    public static final String LOCK_PARTITION_MAINTENANCE = "qt:lock:partition-maintenance";
+    public static final String LOCK_STATS_ROLLUP = "qt:lock:stats-rollup";
+    public static final String LOCK_DASHBOARD_RECONCILE = "qt:lock:dashboard-reconcile";
 
     // Rate limiting
     public static final String LIMIT_LOGIN = "qt:limit:login:";
@@ -27,6 +27,16 @@ public class NotificationController {
         return ApiResponse.success(notificationService.getUserNotifications(userId, page, size, isRead));
     }
 
+    @GetMapping("/scroll")
+    public ApiResponse<PageResponse<Notification>> scrollNotifications(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Boolean isRead) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ApiResponse.success(notificationService.scrollUserNotifications(userId, cursor, Math.min(Math.max(size, 1), 100), isRead));
+    }
+
     @GetMapping("/unread-count")
     public ApiResponse<Map<String, Integer>> getUnreadCount(Authentication authentication) {
         Long userId = (Long) authentication.getPrincipal();
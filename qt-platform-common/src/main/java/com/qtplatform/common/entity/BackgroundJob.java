@@ -0,0 +1,33 @@
+package com.qtplatform.common.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("background_jobs")
+public class BackgroundJob {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private String jobType;
+    private String payload;
+    private String dedupeKey;
+    private String status; // PENDING, RUNNING, SUCCEEDED, DEAD
+    private Integer attempts;
+    private Integer maxAttempts;
+    private OffsetDateTime runAt;
+    private String lockedBy;
+    private OffsetDateTime lockedAt;
+    private String lastError;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime finishedAt;
+}
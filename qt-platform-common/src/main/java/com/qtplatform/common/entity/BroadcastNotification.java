@@ -0,0 +1,26 @@
+package com.qtplatform.common.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("broadcast_notifications")
+public class BroadcastNotification {
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    private String type;
+    private String title;
+    private String content;
+    private String link;
+    private OffsetDateTime createdAt;
+}
@@ -24,5 +24,10 @@ public class Notification {
     private String content;
     private String link;
     private Boolean isRead;
+    private String fanoutKey;
     private OffsetDateTime createdAt;
+
+    // Broadcast entries are listed with negated ids, see NotificationMapper
+    @TableField(exist = false)
+    private Boolean broadcast;
 }
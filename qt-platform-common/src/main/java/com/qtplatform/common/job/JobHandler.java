@@ -0,0 +1,26 @@
+package com.qtplatform.common.job;
+
+/**
+ * Runs background jobs of one type. Implementations are Spring beans; a node only
+ * polls for the job types it has handlers for.
+ *
+ * <p>A job may run more than once (a retry after failure, or after its worker died
+ * mid-run), so handlers must be idempotent.
+ *
+ * @param <P> payload type, stored as JSON
+ */
+public interface JobHandler<P> {
+
+    /**
+     * Job type name, also the key under {@code jobs.concurrency}.
+     */
+    String type();
+
+    Class<P> payloadType();
+
+    /**
+     * Runs the job. Throwing retries it with backoff until its attempts are used up;
+     * throw {@link PermanentJobFailure} when retrying cannot help.
+     */
+    void handle(P payload) throws Exception;
+}
@@ -0,0 +1,60 @@
+package com.qtplatform.common.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qtplatform.common.config.JobConfig;
+import com.qtplatform.common.entity.BackgroundJob;
+import com.qtplatform.common.repository.BackgroundJobMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Enqueues durable background jobs. The insert joins the caller's transaction, so a
+ * job exists exactly when the change that needs it commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobQueue {
+
+    private final BackgroundJobMapper jobMapper;
+    private final ObjectMapper objectMapper;
+    private final JobConfig jobConfig;
+
+    public Long enqueue(String jobType, Object payload) {
+        return enqueue(jobType, payload, null, Duration.ZERO);
+    }
+
+    /**
+     * Enqueues a job unless one with the same {@code dedupeKey} is still pending or
+     * running; returns the new job's id, or null if it was deduplicated.
+     */
+    public Long enqueue(String jobType, Object payload, String dedupeKey) {
+        return enqueue(jobType, payload, dedupeKey, Duration.ZERO);
+    }
+
+    public Long enqueue(String jobType, Object payload, String dedupeKey, Duration delay) {
+        String json;
+        try {
+            json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job payload is not serializable: " + jobType, e);
+        }
+        BackgroundJob job = BackgroundJob.builder()
+                .jobType(jobType)
+                .payload(json)
+                .dedupeKey(dedupeKey)
+                .maxAttempts(jobConfig.getMaxAttempts())
+                .runAt(OffsetDateTime.now().plus(delay))
+                .build();
+        Long id = jobMapper.enqueue(job);
+        if (id == null) {
+            log.debug("Job {} with key {} already queued", jobType, dedupeKey);
+        }
+        return id;
+    }
+}
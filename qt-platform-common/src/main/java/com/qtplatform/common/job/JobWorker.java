@@ -0,0 +1,260 @@
+package com.qtplatform.common.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qtplatform.common.config.JobConfig;
+import com.qtplatform.common.entity.BackgroundJob;
+import com.qtplatform.common.repository.BackgroundJobMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls {@code background_jobs} for the job types this node has handlers for. Each
+ * type gets its own fixed pool, and a poll claims only as many jobs as the pool has
+ * free threads, so a backlog of one type never starves another. Claims use
+ * {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can work the same queue.
+ *
+ * <p>Running jobs are heartbeated from a dedicated thread, so a long task on the shared
+ * scheduler cannot make them look abandoned; a job whose node disappears is requeued
+ * once its lock goes stale. Failures retry with exponential backoff until the job's attempts
+ * are used up, after which it stays DEAD for inspection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    private final BackgroundJobMapper jobMapper;
+    private final ObjectMapper objectMapper;
+    private final JobConfig jobConfig;
+    private final ObjectProvider<JobHandler<?>> handlers;
+    private final MeterRegistry meterRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<Long, BackgroundJob> runningJobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("qt-job-heartbeat-"));
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!jobConfig.isEnabled()) {
+            log.info("Background job workers disabled on this node");
+            return;
+        }
+        for (JobHandler<?> handler : handlers) {
+            int concurrency = jobConfig.concurrencyFor(handler.type());
+            if (concurrency <= 0) {
+                continue;
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                    new CustomizableThreadFactory("qt-job-" + handler.type() + "-"));
+            Lane lane = new Lane(handler, concurrency, executor);
+            if (lanes.putIfAbsent(handler.type(), lane) != null) {
+                executor.shutdown();
+                throw new IllegalStateException("Duplicate job handler for type " + handler.type());
+            }
+            Gauge.builder("qt.jobs.in_flight", lane.inFlight, AtomicInteger::get)
+                    .tag("type", handler.type())
+                    .register(meterRegistry);
+            Gauge.builder("qt.jobs.pending", lane.pending, AtomicLong::get)
+                    .tag("type", handler.type())
+                    .register(meterRegistry);
+        }
+        long interval = jobConfig.getHeartbeatIntervalMs();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Background job workers started: {}", lanes.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (Lane lane : lanes.values()) {
+            lane.executor.shutdown();
+        }
+        try {
+            for (Lane lane : lanes.values()) {
+                if (!lane.executor.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    // Unfinished jobs are requeued by another node once their lock goes stale
+                    log.warn("Job workers for {} still busy at shutdown", lane.handler.type());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            heartbeats.shutdownNow();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-interval-ms:1000}")
+    public void poll() {
+        if (!running) {
+            return;
+        }
+        for (Lane lane : lanes.values()) {
+            int free = lane.concurrency - lane.inFlight.get();
+            if (free <= 0) {
+                continue;
+            }
+            List<BackgroundJob> claimed;
+            try {
+                claimed = jobMapper.claim(lane.handler.type(), nodeId, free);
+            } catch (Exception e) {
+                log.warn("Failed to claim {} jobs: {}", lane.handler.type(), e.getMessage());
+                continue;
+            }
+            for (BackgroundJob job : claimed) {
+                lane.inFlight.incrementAndGet();
+                runningJobs.put(job.getId(), job);
+                lane.executor.execute(() -> run(lane, job));
+            }
+        }
+    }
+
+    private void heartbeat() {
+        if (runningJobs.isEmpty()) {
+            return;
+        }
+        try {
+            jobMapper.heartbeat(nodeId, List.copyOf(runningJobs.keySet()));
+        } catch (Exception e) {
+            log.warn("Failed to heartbeat {} running jobs: {}", runningJobs.size(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.maintenance-interval-ms:60000}",
+            initialDelayString = "${jobs.maintenance-interval-ms:60000}")
+    public void maintenance() {
+        if (!running) {
+            return;
+        }
+        try {
+            int recovered = jobMapper.recoverStale(OffsetDateTime.now().minusNanos(
+                    TimeUnit.MILLISECONDS.toNanos(jobConfig.getStaleAfterMs())));
+            if (recovered > 0) {
+                log.warn("Recovered {} jobs from workers that stopped heartbeating", recovered);
+            }
+            Map<String, Long> pending = new ConcurrentHashMap<>();
+            for (Map<String, Object> row : jobMapper.countPendingByType()) {
+                pending.put((String) row.get("jobType"), ((Number) row.get("count")).longValue());
+            }
+            lanes.forEach((type, lane) -> lane.pending.set(pending.getOrDefault(type, 0L)));
+        } catch (Exception e) {
+            log.warn("Job queue maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.purge-interval-ms:3600000}",
+            initialDelayString = "${jobs.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            int purged = jobMapper.purgeSucceeded(OffsetDateTime.now().minusDays(jobConfig.getRetentionDays()));
+            if (purged > 0) {
+                log.debug("Purged {} finished jobs", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to purge finished jobs: {}", e.getMessage());
+        }
+    }
+
+    private void run(Lane lane, BackgroundJob job) {
+        String type = lane.handler.type();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome;
+        try {
+            execute(lane.handler, job.getPayload());
+            jobMapper.markSucceeded(job.getId(), nodeId);
+            outcome = "succeeded";
+        } catch (Exception e) {
+            outcome = fail(job, e);
+        } finally {
+            runningJobs.remove(job.getId());
+            lane.inFlight.decrementAndGet();
+        }
+        sample.stop(Timer.builder("qt.jobs.duration")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private <P> void execute(JobHandler<P> handler, String json) throws Exception {
+        P payload = json != null ? objectMapper.readValue(json, handler.payloadType()) : null;
+        handler.handle(payload);
+    }
+
+    private String fail(BackgroundJob job, Exception e) {
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        boolean permanent = e instanceof PermanentJobFailure || e instanceof JsonProcessingException;
+        try {
+            if (permanent || job.getAttempts() >= job.getMaxAttempts()) {
+                log.error("Job {} ({}) failed after {} attempt(s), giving up", job.getId(), job.getJobType(),
+                        job.getAttempts(), e);
+                jobMapper.markDead(job.getId(), nodeId, error);
+                return "dead";
+            }
+            OffsetDateTime runAt = OffsetDateTime.now().plusNanos(
+                    TimeUnit.MILLISECONDS.toNanos(backoffMs(job.getAttempts())));
+            log.warn("Job {} ({}) attempt {} failed, retrying at {}: {}", job.getId(), job.getJobType(),
+                    job.getAttempts(), runAt, e.getMessage());
+            jobMapper.markRetry(job.getId(), nodeId, error, runAt);
+            return "retried";
+        } catch (Exception markError) {
+            // Left RUNNING; stale recovery requeues it
+            log.error("Failed to record failure of job {}", job.getId(), markError);
+            return "unrecorded";
+        }
+    }
+
+    // Exponential backoff with up to 20% jitter so retries of a failed batch spread out
+    private long backoffMs(int attempts) {
+        long base = jobConfig.getBackoffBaseMs() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, jobConfig.getBackoffMaxMs());
+        return capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static class Lane {
+        private final JobHandler<?> handler;
+        private final int concurrency;
+        private final ExecutorService executor;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong pending = new AtomicLong();
+
+        Lane(JobHandler<?> handler, int concurrency, ExecutorService executor) {
+            this.handler = handler;
+            this.concurrency = concurrency;
+            this.executor = executor;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.qtplatform.common.job;
+
+import com.qtplatform.common.repository.NotificationMapper;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Inserts one chunk of a batch notification with a single multi-row INSERT. The
+ * batch's fan-out key makes a retry after a partial failure skip recipients it already reached.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationFanoutJob implements JobHandler<NotificationFanoutJob.Payload> {
+
+    public static final String TYPE = "notification-fanout";
+
+    private final NotificationMapper notificationMapper;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<Payload> payloadType() {
+        return Payload.class;
+    }
+
+    @Override
+    public void handle(Payload payload) {
+        notificationMapper.insertForUsers(payload.getUserIds(), payload.getType(), payload.getTitle(),
+                payload.getContent(), payload.getLink(), payload.getFanoutKey());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Payload {
+        private List<Long> userIds;
+        private String type;
+        private String title;
+        private String content;
+        private String link;
+        private String fanoutKey;
+    }
+}
@@ -0,0 +1,16 @@
+package com.qtplatform.common.job;
+
+/**
+ * Thrown by a {@link JobHandler} when the job can never succeed; the job is marked
+ * DEAD right away instead of being retried.
+ */
+public class PermanentJobFailure extends RuntimeException {
+
+    public PermanentJobFailure(String message) {
+        super(message);
+    }
+
+    public PermanentJobFailure(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
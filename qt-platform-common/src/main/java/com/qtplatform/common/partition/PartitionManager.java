@@ -0,0 +1,256 @@
+package com.qtplatform.common.partition;
+
+import com.qtplatform.common.config.PartitionConfig;
+import com.qtplatform.common.constant.RedisKeys;
+import com.qtplatform.common.repository.PartitionMapper;
+import com.qtplatform.common.util.FileUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lifecycle of monthly range partitions for the time-series tables. Each run creates
+ * the partitions for the current month and the next {@code premake-months}; partitions
+ * older than {@code retention-months} are detached, exported to a gzipped CSV under
+ * {@code partitions.archive-path} and dropped. Indexes defined on the parent table
+ * are created on every new partition by PostgreSQL itself.
+ *
+ * <p>One node runs the retention step at a time, under a Redis lock; creating
+ * partitions is idempotent and runs on every node at startup. Retention exports whole
+ * partitions, so it runs on its own thread rather than holding up the shared scheduler.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionManager {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final long LOCK_TTL_MINUTES = 60;
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final PartitionMapper partitionMapper;
+    private final PartitionConfig partitionConfig;
+    private final DataSource dataSource;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ExecutorService retention = Executors.newSingleThreadExecutor(
+            new CustomizableThreadFactory("qt-partition-retention-"));
+    private final AtomicBoolean retiring = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (partitionConfig.isEnabled()) {
+            ensureFuturePartitions();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${partitions.check-interval-ms:21600000}",
+            initialDelayString = "${partitions.check-interval-ms:21600000}")
+    public void scheduledMaintenance() {
+        if (!partitionConfig.isEnabled()) {
+            return;
+        }
+        ensureFuturePartitions();
+
+        if (!retiring.compareAndSet(false, true)) {
+            log.info("Previous partition retention still running, skipping");
+            return;
+        }
+        try {
+            retention.execute(() -> {
+                try {
+                    retireExpired();
+                } catch (Exception e) {
+                    log.error("Partition retention failed", e);
+                } finally {
+                    retiring.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            retiring.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        retention.shutdownNow();
+    }
+
+    private void retireExpired() {
+        String token = UUID.randomUUID().toString();
+        if (!tryLock(token)) {
+            return;
+        }
+        try {
+            for (PartitionConfig.Table table : partitionConfig.getTables()) {
+                if (table.getRetentionMonths() > 0) {
+                    retire(table);
+                }
+            }
+        } finally {
+            unlock(token);
+        }
+    }
+
+    public void ensureFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        for (PartitionConfig.Table table : partitionConfig.getTables()) {
+            String parent = validName(table.getName());
+            Set<String> attached;
+            try {
+                attached = new LinkedHashSet<>(partitionMapper.findAttached(parent));
+            } catch (Exception e) {
+                log.error("Failed to list partitions of {}", parent, e);
+                continue;
+            }
+            for (int i = 0; i <= table.getPremakeMonths(); i++) {
+                YearMonth month = current.plusMonths(i);
+                String child = partitionName(parent, month);
+                if (attached.contains(child)) {
+                    continue;
+                }
+                try {
+                    partitionMapper.createPartition(parent, child, month.atDay(1).toString(),
+                            month.plusMonths(1).atDay(1).toString());
+                    log.info("Created partition {}", child);
+                } catch (Exception e) {
+                    // Another node may have created it at the same moment
+                    log.warn("Failed to create partition {}: {}", child, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void retire(PartitionConfig.Table table) {
+        String parent = validName(table.getName());
+        // Keep the current month plus retention-months full months before it
+        YearMonth oldestKept = YearMonth.now().minusMonths(table.getRetentionMonths());
+
+        for (String child : partitionMapper.findAttached(parent)) {
+            YearMonth month = monthOf(parent, child);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                partitionMapper.detachPartition(parent, child);
+                log.info("Detached partition {}", child);
+            } catch (Exception e) {
+                log.error("Failed to detach partition {}", child, e);
+            }
+        }
+
+        // Detached here or by an earlier run that stopped before dropping
+        for (String child : partitionMapper.findDetached(parent)) {
+            YearMonth month = monthOf(parent, child);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            try {
+                if (table.isArchive()) {
+                    Path file = archive(parent, child);
+                    log.info("Archived partition {} to {}", child, file);
+                }
+                partitionMapper.dropTable(child);
+                log.info("Dropped partition {}", child);
+            } catch (Exception e) {
+                // Left detached; retried on the next run
+                log.error("Failed to archive partition {}, keeping it", child, e);
+            }
+        }
+    }
+
+    private Path archive(String parent, String child) throws IOException, SQLException {
+        Path dir = Paths.get(partitionConfig.getArchivePath(), parent);
+        Files.createDirectories(dir);
+        Path target = dir.resolve(child + ".csv.gz");
+        Path temp = dir.resolve(child + ".csv.gz.tmp");
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), 64 * 1024)) {
+            connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut("COPY " + child + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+        } catch (IOException | SQLException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        FileUtil.moveAtomically(temp, target);
+        return target;
+    }
+
+    private static String partitionName(String parent, YearMonth month) {
+        return parent + "_" + month.format(SUFFIX);
+    }
+
+    private static YearMonth monthOf(String parent, String child) {
+        String suffix = child.substring(parent.length() + 1);
+        try {
+            return YearMonth.parse(suffix, SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String validName(String name) {
+        if (name == null || !IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalStateException("Invalid partitioned table name: " + name);
+        }
+        return name;
+    }
+
+    private boolean tryLock(String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(
+                    RedisKeys.LOCK_PARTITION_MAINTENANCE, token, LOCK_TTL_MINUTES, TimeUnit.MINUTES));
+        } catch (Exception e) {
+            log.warn("Partition maintenance lock unavailable, skipping retention: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock(String token) {
+        try {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(RedisKeys.LOCK_PARTITION_MAINTENANCE), token);
+        } catch (Exception e) {
+            log.debug("Failed to release partition maintenance lock: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.qtplatform.common.repository;
+
+import com.qtplatform.common.accesslog.AccessLogEntry;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface AccessLogMapper {
+
+    @Insert("<script>INSERT INTO user_access_logs (user_id, ip_address, user_agent, request_method, request_path, " +
+            "query_string, response_status, response_time, referer, created_at) VALUES " +
+            "<foreach collection='entries' item='e' separator=','>" +
+            "(#{e.userId}, #{e.ipAddress}::inet, #{e.userAgent}, #{e.requestMethod}, #{e.requestPath}, " +
+            "#{e.queryString}, #{e.responseStatus}, #{e.responseTime}, #{e.referer}, #{e.createdAt})" +
+            "</foreach></script>")
+    int insertBatch(@Param("entries") List<AccessLogEntry> entries);
+}
@@ -0,0 +1,85 @@
+package com.qtplatform.common.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.common.entity.BackgroundJob;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface BackgroundJobMapper extends BaseMapper<BackgroundJob> {
+
+    /**
+     * Inserts a job and returns its id, or null when a pending or running job with
+     * the same dedupe key already exists.
+     */
+    @Select("INSERT INTO background_jobs (job_type, payload, dedupe_key, max_attempts, run_at) " +
+            "VALUES (#{jobType}, #{payload}, #{dedupeKey}, #{maxAttempts}, #{runAt}) " +
+            "ON CONFLICT (dedupe_key) WHERE dedupe_key IS NOT NULL AND status IN ('PENDING', 'RUNNING') DO NOTHING " +
+            "RETURNING id")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    Long enqueue(BackgroundJob job);
+
+    /**
+     * Claims up to {@code limit} due jobs of one type for this node. SKIP LOCKED lets
+     * workers on every node poll the same table without blocking on each other.
+     */
+    @Select("UPDATE background_jobs SET status = 'RUNNING', locked_by = #{nodeId}, locked_at = now(), " +
+            "attempts = attempts + 1 " +
+            "WHERE id IN (SELECT id FROM background_jobs WHERE job_type = #{jobType} AND status = 'PENDING' " +
+            "AND run_at <= now() ORDER BY run_at LIMIT #{limit} FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    List<BackgroundJob> claim(@Param("jobType") String jobType, @Param("nodeId") String nodeId,
+                              @Param("limit") int limit);
+
+    @Update("UPDATE background_jobs SET status = 'SUCCEEDED', locked_by = NULL, locked_at = NULL, " +
+            "last_error = NULL, finished_at = now() " +
+            "WHERE id = #{id} AND status = 'RUNNING' AND locked_by = #{nodeId}")
+    int markSucceeded(@Param("id") Long id, @Param("nodeId") String nodeId);
+
+    @Update("UPDATE background_jobs SET status = 'PENDING', locked_by = NULL, locked_at = NULL, " +
+            "last_error = #{error}, run_at = #{runAt} " +
+            "WHERE id = #{id} AND status = 'RUNNING' AND locked_by = #{nodeId}")
+    int markRetry(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("error") String error,
+                  @Param("runAt") OffsetDateTime runAt);
+
+    @Update("UPDATE background_jobs SET status = 'DEAD', locked_by = NULL, locked_at = NULL, " +
+            "last_error = #{error}, finished_at = now() " +
+            "WHERE id = #{id} AND status = 'RUNNING' AND locked_by = #{nodeId}")
+    int markDead(@Param("id") Long id, @Param("nodeId") String nodeId, @Param("error") String error);
+
+    /**
+     * Keeps this node's running jobs from being taken for stale.
+     */
+    @Update("<script>UPDATE background_jobs SET locked_at = now() " +
+            "WHERE status = 'RUNNING' AND locked_by = #{nodeId} AND id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+    int heartbeat(@Param("nodeId") String nodeId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns jobs whose worker stopped heartbeating to the queue, or buries them
+     * when they have no attempts left.
+     */
+    @Update("UPDATE background_jobs SET " +
+            "status = CASE WHEN attempts >= max_attempts THEN 'DEAD' ELSE 'PENDING' END, " +
+            "finished_at = CASE WHEN attempts >= max_attempts THEN now() END, " +
+            "locked_by = NULL, locked_at = NULL, last_error = 'Worker lost while running job' " +
+            "WHERE status = 'RUNNING' AND locked_at < #{before}")
+    int recoverStale(@Param("before") OffsetDateTime before);
+
+    @Delete("DELETE FROM background_jobs WHERE status = 'SUCCEEDED' AND finished_at < #{before}")
+    int purgeSucceeded(@Param("before") OffsetDateTime before);
+
+    @Select("SELECT job_type AS \"jobType\", count(*) AS \"count\" FROM background_jobs " +
+            "WHERE status = 'PENDING' GROUP BY job_type")
+    List<Map<String, Object>> countPendingByType();
+}
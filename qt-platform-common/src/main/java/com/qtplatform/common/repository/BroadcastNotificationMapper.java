@@ -0,0 +1,24 @@
+package com.qtplatform.common.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.common.entity.BroadcastNotification;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface BroadcastNotificationMapper extends BaseMapper<BroadcastNotification> {
+
+    // Users only see broadcasts sent after they registered
+    @Insert("INSERT INTO broadcast_reads (broadcast_id, user_id) " +
+            "SELECT b.id, u.id FROM broadcast_notifications b JOIN users u ON u.id = #{userId} " +
+            "WHERE b.id = #{broadcastId} AND b.created_at >= u.created_at " +
+            "ON CONFLICT DO NOTHING")
+    int markRead(@Param("broadcastId") Long broadcastId, @Param("userId") Long userId);
+
+    @Insert("INSERT INTO broadcast_reads (broadcast_id, user_id) " +
+            "SELECT b.id, u.id FROM broadcast_notifications b JOIN users u ON u.id = #{userId} " +
+            "WHERE b.created_at >= u.created_at " +
+            "ON CONFLICT DO NOTHING")
+    int markAllRead(@Param("userId") Long userId);
+}
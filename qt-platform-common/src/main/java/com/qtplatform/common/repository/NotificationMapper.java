@@ -1,18 +1,69 @@
 package com.qtplatform.common.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.qtplatform.common.entity.Notification;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Mapper
 public interface NotificationMapper extends BaseMapper<Notification> {
 
-    @Select("SELECT COUNT(*) FROM notifications WHERE user_id = #{userId} AND is_read = false")
+    /**
+     * A user's inbox: personal notifications plus the broadcasts sent since they
+     * registered, read state taken from broadcast_reads. Broadcast ids are negated so
+     * both sources share one id space for keyset cursors and mark-as-read.
+     */
+    String INBOX = "SELECT n.id, n.user_id, n.type, n.title, n.content, n.link, n.is_read, n.created_at, " +
+            "false AS broadcast FROM notifications n WHERE n.user_id = #{userId} " +
+            "UNION ALL " +
+            "SELECT -b.id, u.id, b.type, b.title, b.content, b.link, r.user_id IS NOT NULL, b.created_at, " +
+            "true FROM broadcast_notifications b JOIN users u ON u.id = #{userId} AND b.created_at >= u.created_at " +
+            "LEFT JOIN broadcast_reads r ON r.broadcast_id = b.id AND r.user_id = u.id";
+
+    @Select("<script>SELECT * FROM (" + INBOX + ") inbox " +
+            "<where><if test='isRead != null'>is_read = #{isRead}</if></where> " +
+            "ORDER BY created_at DESC, id DESC</script>")
+    IPage<Notification> selectInbox(Page<Notification> page, @Param("userId") Long userId,
+                                    @Param("isRead") Boolean isRead);
+
+    @Select("<script>SELECT * FROM (" + INBOX + ") inbox " +
+            "<where>" +
+            "<if test='isRead != null'>is_read = #{isRead}</if>" +
+            "<if test='afterCreatedAt != null'> AND (created_at, id) &lt; (#{afterCreatedAt}, #{afterId})</if>" +
+            "</where> " +
+            "ORDER BY created_at DESC, id DESC LIMIT #{limit}</script>")
+    List<Notification> scrollInbox(@Param("userId") Long userId, @Param("isRead") Boolean isRead,
+                                   @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+                                   @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Select("SELECT (SELECT COUNT(*) FROM notifications WHERE user_id = #{userId} AND is_read = false) + " +
+            "(SELECT COUNT(*) FROM broadcast_notifications b JOIN users u ON u.id = #{userId} " +
+            "WHERE b.created_at >= u.created_at AND NOT EXISTS " +
+            "(SELECT 1 FROM broadcast_reads r WHERE r.broadcast_id = b.id AND r.user_id = u.id))")
     int countUnread(@Param("userId") Long userId);
 
     @Update("UPDATE notifications SET is_read = true WHERE user_id = #{userId} AND is_read = false")
     int markAllRead(@Param("userId") Long userId);
+
+    /**
+     * One multi-row INSERT for a chunk of recipients; ids of users deleted since the
+     * fan-out was queued are skipped instead of failing the chunk, and recipients that
+     * already have a row for {@code fanoutKey} are skipped so a retried chunk is harmless.
+     */
+    @Insert("<script>INSERT INTO notifications (user_id, type, title, content, link, fanout_key) " +
+            "SELECT d.user_id, #{type}, #{title}, #{content}, #{link}, #{fanoutKey} FROM (VALUES " +
+            "<foreach collection='userIds' item='id' separator=','>(#{id}::bigint)</foreach>" +
+            ") AS d(user_id) WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = d.user_id) " +
+            "ON CONFLICT (user_id, fanout_key) DO NOTHING</script>")
+    int insertForUsers(@Param("userIds") List<Long> userIds, @Param("type") String type,
+                       @Param("title") String title, @Param("content") String content,
+                       @Param("link") String link, @Param("fanoutKey") String fanoutKey);
 }
@@ -0,0 +1,37 @@
+package com.qtplatform.common.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.List;
+
+/**
+ * Partition DDL. Identifiers and bounds are substituted, not bound, so callers must
+ * only pass validated table names and generated dates.
+ */
+@Mapper
+public interface PartitionMapper {
+
+    @Select("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(#{parent})")
+    List<String> findAttached(@Param("parent") String parent);
+
+    // Leftovers of an earlier run that detached but did not get to drop them
+    @Select("SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = current_schema() AND c.relkind = 'r' AND NOT c.relispartition " +
+            "AND c.relname ~ ('^' || #{parent} || '_[0-9]{4}_[0-9]{2}$')")
+    List<String> findDetached(@Param("parent") String parent);
+
+    @Update("CREATE TABLE IF NOT EXISTS ${child} PARTITION OF ${parent} " +
+            "FOR VALUES FROM ('${from}') TO ('${to}')")
+    void createPartition(@Param("parent") String parent, @Param("child") String child,
+                         @Param("from") String from, @Param("to") String to);
+
+    @Update("ALTER TABLE ${parent} DETACH PARTITION ${child}")
+    void detachPartition(@Param("parent") String parent, @Param("child") String child);
+
+    @Update("DROP TABLE IF EXISTS ${child}")
+    void dropTable(@Param("child") String child);
+}
@@ -0,0 +1,13 @@
+package com.qtplatform.common.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+@Mapper
+public interface TableStatsMapper {
+
+    // Planner row estimate maintained by ANALYZE/autovacuum; -1 (never analyzed) is reported as 0
+    @Select("SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = to_regclass(#{table})")
+    Long estimateRowCount(@Param("table") String table);
+}
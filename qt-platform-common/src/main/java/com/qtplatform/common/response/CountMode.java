@@ -0,0 +1,14 @@
+package com.qtplatform.common.response;
+
+/**
+ * How the total of a paged query is obtained.
+ */
+public enum CountMode {
+
+    // SELECT COUNT(*) with the same filters
+    EXACT,
+    // Planner estimate from pg_class.reltuples; only for unfiltered queries
+    ESTIMATE,
+    // No count; total is reported as PageResponse.UNKNOWN_TOTAL
+    NONE
+}
@@ -1,5 +1,6 @@
 package com.qtplatform.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -11,21 +12,39 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponse<T> {
 
+    // Sentinel for total when the count was skipped
+    public static final long UNKNOWN_TOTAL = -1L;
+
     private List<T> records;
     private long total;
     private int page;
     private int size;
     private int totalPages;
 
+    // Keyset mode only: opaque cursor for the next page, null on the last page
+    private String nextCursor;
+    private Boolean hasMore;
+
     public static <T> PageResponse<T> of(List<T> records, long total, int page, int size) {
         return PageResponse.<T>builder()
                 .records(records)
                 .total(total)
                 .page(page)
                 .size(size)
-                .totalPages((int) Math.ceil((double) total / size))
+                .totalPages(total < 0 ? 0 : (int) Math.ceil((double) total / size))
+                .build();
+    }
+
+    public static <T> PageResponse<T> ofCursor(List<T> records, String nextCursor, boolean hasMore, int size) {
+        return PageResponse.<T>builder()
+                .records(records)
+                .total(UNKNOWN_TOTAL)
+                .size(size)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
                 .build();
     }
 }
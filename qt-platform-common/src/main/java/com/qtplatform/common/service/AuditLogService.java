@@ -4,12 +4,16 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.qtplatform.common.entity.AuditLog;
 import com.qtplatform.common.repository.AuditLogMapper;
+import com.qtplatform.common.repository.TableStatsMapper;
+import com.qtplatform.common.response.CountMode;
 import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,6 +21,7 @@ import java.util.Map;
 public class AuditLogService {
 
     private final AuditLogMapper auditLogMapper;
+    private final TableStatsMapper tableStatsMapper;
 
     @Async("asyncExecutor")
     public void log(Long userId, String action, String targetType, Long targetId, Map<String, Object> detail, String ipAddress) {
@@ -31,14 +36,35 @@ public class AuditLogService {
         auditLogMapper.insert(auditLog);
     }
 
-    public PageResponse<AuditLog> listLogs(int page, int size, Long userId, String action) {
+    public PageResponse<AuditLog> listLogs(int page, int size, Long userId, String action, CountMode countMode) {
+        boolean filtered = userId != null || StringUtils.hasText(action);
         Page<AuditLog> pageParam = new Page<>(page, size);
+        pageParam.setSearchCount(countMode == CountMode.EXACT || (countMode == CountMode.ESTIMATE && filtered));
+
         LambdaQueryWrapper<AuditLog> wrapper = new LambdaQueryWrapper<>();
         if (userId != null) wrapper.eq(AuditLog::getUserId, userId);
         if (StringUtils.hasText(action)) wrapper.eq(AuditLog::getAction, action);
         wrapper.orderByDesc(AuditLog::getCreatedAt);
 
         Page<AuditLog> result = auditLogMapper.selectPage(pageParam, wrapper);
-        return PageResponse.of(result.getRecords(), result.getTotal(), page, size);
+        long total = result.getTotal();
+        if (!pageParam.searchCount()) {
+            // The reltuples estimate only describes the whole table
+            total = countMode == CountMode.ESTIMATE ? tableStatsMapper.estimateRowCount("audit_logs") : PageResponse.UNKNOWN_TOTAL;
+        }
+        return PageResponse.of(result.getRecords(), total, page, size);
+    }
+
+    /**
+     * Keyset pagination for deep scrolling; cost does not grow with the offset.
+     */
+    public PageResponse<AuditLog> scrollLogs(String cursor, int size, Long userId, String action) {
+        LambdaQueryWrapper<AuditLog> wrapper = new LambdaQueryWrapper<>();
+        if (userId != null) wrapper.eq(AuditLog::getUserId, userId);
+        if (StringUtils.hasText(action)) wrapper.eq(AuditLog::getAction, action);
+        return KeysetCursor.scroll(cursor, size,
+                (after, limit) -> auditLogMapper.selectList(
+                        KeysetCursor.seek(wrapper, after, limit, AuditLog::getCreatedAt, AuditLog::getId)),
+                AuditLog::getCreatedAt, AuditLog::getId);
     }
 }
@@ -0,0 +1,127 @@
+package com.qtplatform.common.service;
+
+import com.qtplatform.common.constant.RedisKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Admin dashboard counters kept in the Redis hash {@link RedisKeys#STATS_DASHBOARD}.
+ * The services that create, delete or change the status of users, products and
+ * comments adjust them after their transaction commits; a periodic reconciliation
+ * overwrites them with real counts, which also repairs drift from concurrent status
+ * changes, cascaded deletes or a missed update while Redis was down.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardCounterService {
+
+    public static final String USER_COUNT = "userCount";
+    public static final String PUBLISHED_PRODUCT_COUNT = "publishedProductCount";
+    public static final String TOTAL_PRODUCT_COUNT = "totalProductCount";
+    public static final String PENDING_COMMENT_COUNT = "pendingCommentCount";
+
+    private static final List<String> COUNTERS = List.of(
+            USER_COUNT, PUBLISHED_PRODUCT_COUNT, TOTAL_PRODUCT_COUNT, PENDING_COMMENT_COUNT);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // Last complete snapshot, served when Redis is unavailable
+    private volatile Map<String, Long> lastSnapshot;
+
+    public void adjust(String counter, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(counter, delta);
+                }
+            });
+        } else {
+            apply(counter, delta);
+        }
+    }
+
+    /**
+     * Adjusts a counter for a status change of one row, e.g. a product leaving or
+     * entering PUBLISHED.
+     */
+    public void adjustForTransition(String counter, String countedStatus, String oldStatus, String newStatus) {
+        boolean before = countedStatus.equals(oldStatus);
+        boolean after = countedStatus.equals(newStatus);
+        if (before != after) {
+            adjust(counter, after ? 1 : -1);
+        }
+    }
+
+    /**
+     * The current counters, or empty when they have never been reconciled (or Redis
+     * is down and this node has no earlier snapshot).
+     */
+    public Optional<Map<String, Long>> snapshot() {
+        try {
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(RedisKeys.STATS_DASHBOARD,
+                    List.copyOf(COUNTERS));
+            Map<String, Long> counters = new HashMap<>(COUNTERS.size() * 2);
+            for (int i = 0; i < COUNTERS.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    // Partially created by an adjustment before the first reconciliation
+                    return Optional.empty();
+                }
+                counters.put(COUNTERS.get(i), Math.max(0, Long.parseLong(value.toString())));
+            }
+            lastSnapshot = Map.copyOf(counters);
+            return Optional.of(lastSnapshot);
+        } catch (Exception e) {
+            log.warn("Failed to read dashboard counters: {}", e.getMessage());
+            return Optional.ofNullable(lastSnapshot);
+        }
+    }
+
+    public void reset(Map<String, Long> counts) {
+        Map<String, String> values = new HashMap<>(counts.size() * 2);
+        counts.forEach((counter, count) -> values.put(counter, Long.toString(count)));
+        lastSnapshot = Map.copyOf(counts);
+        try {
+            stringRedisTemplate.opsForHash().putAll(RedisKeys.STATS_DASHBOARD, values);
+        } catch (Exception e) {
+            log.warn("Failed to store reconciled dashboard counters: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims the reconciliation for this interval; at most one node reconciles per interval.
+     */
+    public boolean tryClaimReconciliation(Duration interval) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(
+                    RedisKeys.LOCK_DASHBOARD_RECONCILE, "1", interval));
+        } catch (Exception e) {
+            // Without Redis every node keeps its own snapshot current
+            return true;
+        }
+    }
+
+    private void apply(String counter, long delta) {
+        try {
+            stringRedisTemplate.opsForHash().increment(RedisKeys.STATS_DASHBOARD, counter, delta);
+        } catch (Exception e) {
+            // Corrected by the next reconciliation
+            log.warn("Failed to adjust dashboard counter {} by {}: {}", counter, delta, e.getMessage());
+        }
+    }
+}
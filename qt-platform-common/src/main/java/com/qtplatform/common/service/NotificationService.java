@@ -1,39 +1,62 @@
 package com.qtplatform.common.service;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.qtplatform.common.entity.BroadcastNotification;
 import com.qtplatform.common.entity.Notification;
+import com.qtplatform.common.job.JobQueue;
+import com.qtplatform.common.job.NotificationFanoutJob;
+import com.qtplatform.common.repository.BroadcastNotificationMapper;
 import com.qtplatform.common.repository.NotificationMapper;
 import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.common.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationMapper notificationMapper;
+    private final BroadcastNotificationMapper broadcastMapper;
+    private final JobQueue jobQueue;
 
-    public PageResponse<Notification> getUserNotifications(Long userId, int page, int size, Boolean isRead) {
-        Page<Notification> pageParam = new Page<>(page, size);
-        LambdaQueryWrapper<Notification> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Notification::getUserId, userId);
-        if (isRead != null) {
-            wrapper.eq(Notification::getIsRead, isRead);
-        }
-        wrapper.orderByDesc(Notification::getCreatedAt);
+    @Value("${notification.fanout-chunk-size:1000}")
+    private int fanoutChunkSize;
 
-        Page<Notification> result = notificationMapper.selectPage(pageParam, wrapper);
+    public PageResponse<Notification> getUserNotifications(Long userId, int page, int size, Boolean isRead) {
+        IPage<Notification> result = notificationMapper.selectInbox(new Page<>(page, size), userId, isRead);
         return PageResponse.of(result.getRecords(), result.getTotal(), page, size);
     }
 
+    /**
+     * Keyset pagination over the user's notifications, newest first.
+     */
+    public PageResponse<Notification> scrollUserNotifications(Long userId, String cursor, int size, Boolean isRead) {
+        return KeysetCursor.scroll(cursor, size,
+                (after, limit) -> notificationMapper.scrollInbox(userId, isRead,
+                        after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, limit),
+                Notification::getCreatedAt, Notification::getId);
+    }
+
     public int getUnreadCount(Long userId) {
         return notificationMapper.countUnread(userId);
     }
 
     public void markAsRead(Long notificationId, Long userId) {
+        if (notificationId < 0) {
+            broadcastMapper.markRead(-notificationId, userId);
+            return;
+        }
         Notification notification = notificationMapper.selectById(notificationId);
         if (notification != null && notification.getUserId().equals(userId)) {
             notification.setIsRead(true);
@@ -41,8 +64,10 @@ public class NotificationService {
         }
     }
 
+    @Transactional
     public void markAllRead(Long userId) {
         notificationMapper.markAllRead(userId);
+        broadcastMapper.markAllRead(userId);
     }
 
     public void sendNotification(Long userId, String type, String title, String content, String link) {
@@ -57,9 +82,33 @@ public class NotificationService {
         notificationMapper.insert(notification);
     }
 
+    /**
+     * Queues the notification for background fan-out in chunks, each written with one
+     * multi-row INSERT. Joins the caller's transaction, so nothing is sent if it rolls back.
+     */
     public void sendBatchNotification(List<Long> userIds, String type, String title, String content, String link) {
-        for (Long userId : userIds) {
-            sendNotification(userId, type, title, content, link);
+        List<Long> recipients = new ArrayList<>(new LinkedHashSet<>(userIds));
+        String fanoutKey = UUID.randomUUID().toString().replace("-", "");
+        for (int from = 0; from < recipients.size(); from += fanoutChunkSize) {
+            List<Long> chunk = List.copyOf(recipients.subList(from, Math.min(from + fanoutChunkSize, recipients.size())));
+            jobQueue.enqueue(NotificationFanoutJob.TYPE,
+                    new NotificationFanoutJob.Payload(chunk, type, title, content, link, fanoutKey));
         }
+        log.info("Queued {} notification for {} users", type, recipients.size());
+    }
+
+    /**
+     * Notifies every user with a single row; read state is tracked per user only
+     * once they read it, instead of materializing a row per user up front.
+     */
+    public void sendBroadcast(String type, String title, String content, String link) {
+        BroadcastNotification broadcast = BroadcastNotification.builder()
+                .type(type)
+                .title(title)
+                .content(content)
+                .link(link)
+                .build();
+        broadcastMapper.insert(broadcast);
+        log.info("Broadcast {} notification {}", type, broadcast.getId());
     }
 }
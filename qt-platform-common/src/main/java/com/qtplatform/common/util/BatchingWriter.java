@@ -0,0 +1,64 @@
+package com.qtplatform.common.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Best-effort asynchronous writer for telemetry rows. Producers offer to a bounded
+ * {@link RingBuffer} and never wait: a full buffer drops the row and counts it. The
+ * owner calls {@link #flush} periodically to hand the rows to {@code sink} in batches;
+ * a failed batch is counted and discarded rather than retried.
+ * <p>
+ * Meters: {@code <countMetric>{outcome=written|dropped|failed}} and {@code <bufferedMetric>}.
+ */
+@Slf4j
+public final class BatchingWriter<E> {
+
+    private final String description;
+    private final RingBuffer<E> buffer;
+    private final int batchSize;
+    private final Consumer<List<E>> sink;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public BatchingWriter(String description, int capacity, int batchSize, Consumer<List<E>> sink,
+                          MeterRegistry meterRegistry, String countMetric, String bufferedMetric) {
+        this.description = description;
+        this.buffer = new RingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.sink = sink;
+        this.written = meterRegistry.counter(countMetric, "outcome", "written");
+        this.dropped = meterRegistry.counter(countMetric, "outcome", "dropped");
+        this.failed = meterRegistry.counter(countMetric, "outcome", "failed");
+        Gauge.builder(bufferedMetric, buffer, RingBuffer::size).register(meterRegistry);
+    }
+
+    public void offer(E element) {
+        if (!buffer.offer(element)) {
+            dropped.increment();
+        }
+    }
+
+    public synchronized void flush() {
+        List<E> batch = new ArrayList<>(batchSize);
+        // Bounded per run so a backlog cannot pin the scheduler thread
+        int batches = buffer.capacity() / batchSize + 1;
+        for (int i = 0; i < batches && buffer.drainTo(batch, batchSize) > 0; i++) {
+            try {
+                sink.accept(batch);
+                written.increment(batch.size());
+            } catch (Exception e) {
+                failed.increment(batch.size());
+                log.warn("Failed to write {} {}: {}", batch.size(), description, e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+}
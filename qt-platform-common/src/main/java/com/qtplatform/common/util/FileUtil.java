@@ -4,9 +4,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
@@ -19,6 +24,8 @@ public final class FileUtil {
 
     private static final Set<String> DANGEROUS_CHARS = Set.of("..", "/", "\\", "\0");
 
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
     public static String sanitizeFileName(String fileName) {
         if (fileName == null) return "unknown";
         String sanitized = fileName.trim();
@@ -78,6 +85,44 @@ public final class FileUtil {
         return HexFormat.of().formatHex(digest.digest());
     }
 
+    /**
+     * Streams {@code in} into a new file at {@code target}, computing SHA-256 and MD5
+     * of the written bytes in the same pass. The caller owns {@code in}.
+     */
+    public static Digests copyAndDigest(InputStream in, Path target) throws IOException, NoSuchAlgorithmException {
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        byte[] chunk = new byte[COPY_BUFFER_SIZE];
+        long size = 0;
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            // readNBytes blocks until the chunk is full, so every write but the last is a full chunk
+            while ((read = in.readNBytes(chunk, 0, chunk.length)) > 0) {
+                sha256.update(chunk, 0, read);
+                md5.update(chunk, 0, read);
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                while (buffer.hasRemaining()) {
+                    size += out.write(buffer);
+                }
+            }
+        }
+        HexFormat hex = HexFormat.of();
+        return new Digests(size, hex.formatHex(sha256.digest()), hex.formatHex(md5.digest()));
+    }
+
+    /**
+     * Moves {@code source} onto {@code target} atomically where the file system allows it.
+     */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public record Digests(long size, String sha256, String md5) {}
+
     public static String formatFileSize(long bytes) {
         if (bytes < 1024) return bytes + " B";
         if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
@@ -1,5 +1,6 @@
 package com.qtplatform.common.util;
 
+import com.google.common.net.InetAddresses;
 import jakarta.servlet.http.HttpServletRequest;
 
 public final class IpUtil {
@@ -27,6 +28,14 @@ public final class IpUtil {
         return request.getRemoteAddr();
     }
 
+    /**
+     * Returns {@code ip} if it is an IP literal, otherwise null. Forwarded headers are
+     * client-controlled, and a malformed value must not fail an INET insert.
+     */
+    public static String literalOrNull(String ip) {
+        return ip != null && InetAddresses.isInetAddress(ip) ? ip : null;
+    }
+
     public static String mask(String ip) {
         if (ip == null) return null;
         if (ip.contains(":")) {
@@ -1,8 +1,13 @@
 package com.qtplatform.common.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,7 +15,11 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -25,11 +34,27 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private long verifiedCacheSize;
+
     private SecretKey key;
 
+    // JwtParser is immutable and thread-safe once built
+    private JwtParser parser;
+
+    // SHA-256(token) -> principal; entries are also rejected once past their exp
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        if (verifiedCacheSize > 0) {
+            this.verifiedTokens = CacheBuilder.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfterWrite(accessExpiration, TimeUnit.SECONDS)
+                    .build();
+        }
     }
 
     public String generateAccessToken(Long userId, String username, Map<String, Object> claims) {
@@ -45,6 +70,7 @@ public class JwtUtil {
         Date expiry = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(String.valueOf(userId))
                 .claim("username", username)
                 .claims(claims)
@@ -55,11 +81,60 @@ public class JwtUtil {
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifies the token once and returns its principal, or empty if the token is
+     * invalid or expired. Recently verified tokens are served from memory.
+     */
+    public Optional<JwtPrincipal> authenticate(String token) {
+        String tokenHash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+        if (verifiedTokens != null) {
+            JwtPrincipal cached = verifiedTokens.getIfPresent(tokenHash);
+            if (cached != null) {
+                if (!cached.isExpired()) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.invalidate(tokenHash);
+            }
+        }
+
+        JwtPrincipal principal;
+        try {
+            principal = toPrincipal(parseToken(token), tokenHash);
+        } catch (ExpiredJwtException e) {
+            log.warn("JWT token expired");
+            return Optional.empty();
+        } catch (MalformedJwtException e) {
+            log.warn("JWT token malformed");
+            return Optional.empty();
+        } catch (SecurityException e) {
+            log.warn("JWT signature invalid");
+            return Optional.empty();
+        } catch (Exception e) {
+            // Includes a validly signed token whose subject or roles have the wrong shape
+            log.warn("JWT token invalid: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        if (verifiedTokens != null) {
+            verifiedTokens.put(tokenHash, principal);
+        }
+        return Optional.of(principal);
+    }
+
+    private static JwtPrincipal toPrincipal(Claims claims, String tokenHash) {
+        @SuppressWarnings("unchecked")
+        List<String> roles = claims.get("roles", List.class);
+        return new JwtPrincipal(
+                // Tokens issued before jti was added are identified by their hash
+                claims.getId() != null ? claims.getId() : tokenHash,
+                Long.parseLong(claims.getSubject()),
+                claims.get("username", String.class),
+                claims.get("type", String.class),
+                roles != null ? List.copyOf(roles) : List.of(),
+                claims.getExpiration());
     }
 
     public boolean validateToken(String token) {
@@ -85,4 +160,20 @@ public class JwtUtil {
     public String getUsernameFromToken(String token) {
         return parseToken(token).get("username", String.class);
     }
+
+    @Getter
+    @AllArgsConstructor
+    public static class JwtPrincipal {
+
+        private final String tokenId;
+        private final Long userId;
+        private final String username;
+        private final String type;
+        private final List<String> roles;
+        private final Date expiration;
+
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
 }
@@ -0,0 +1,93 @@
+package com.qtplatform.common.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.qtplatform.common.exception.BusinessException;
+import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.common.response.PageResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque cursor for keyset pagination over (created_at DESC, id DESC).
+ * Encodes the last row's timestamp with microsecond precision plus its id.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private final OffsetDateTime createdAt;
+    private final Long id;
+
+    public static String encode(OffsetDateTime createdAt, Long id) {
+        Instant instant = createdAt.toInstant();
+        long micros = instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+        String raw = micros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            long micros = Long.parseLong(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            Instant instant = Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000);
+            return new KeysetCursor(instant.atOffset(ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "无效的分页游标");
+        }
+    }
+
+    /**
+     * Runs one keyset page: fetches {@code size + 1} rows after the cursor, keeps
+     * {@code size} and encodes the cursor of the last row kept when there are more.
+     */
+    public static <T> PageResponse<T> scroll(String cursor, int size, Query<T> query,
+                                             Function<T, OffsetDateTime> createdAt, Function<T, Long> id) {
+        return scroll(cursor, size, query, createdAt, id, Function.identity());
+    }
+
+    public static <T, R> PageResponse<R> scroll(String cursor, int size, Query<T> query,
+                                                Function<T, OffsetDateTime> createdAt, Function<T, Long> id,
+                                                Function<List<T>, List<R>> mapper) {
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? decode(cursor) : null;
+        List<T> rows = query.fetch(after, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            T last = rows.get(rows.size() - 1);
+            nextCursor = encode(createdAt.apply(last), id.apply(last));
+        }
+        return PageResponse.ofCursor(mapper.apply(rows), nextCursor, hasMore, size);
+    }
+
+    /**
+     * Adds the keyset condition, ordering and limit to a wrapper over a table with
+     * {@code created_at} and {@code id} columns.
+     */
+    public static <T> LambdaQueryWrapper<T> seek(LambdaQueryWrapper<T> wrapper, KeysetCursor after, int limit,
+                                                 SFunction<T, ?> createdAt, SFunction<T, ?> id) {
+        if (after != null) {
+            wrapper.apply("(created_at, id) < ({0}, {1})", after.getCreatedAt(), after.getId());
+        }
+        return wrapper.orderByDesc(createdAt).orderByDesc(id).last("LIMIT " + limit);
+    }
+
+    @FunctionalInterface
+    public interface Query<T> {
+        // after is null for the first page
+        List<T> fetch(KeysetCursor after, int limit);
+    }
+}
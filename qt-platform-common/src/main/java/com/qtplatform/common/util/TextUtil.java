@@ -0,0 +1,13 @@
+package com.qtplatform.common.util;
+
+public final class TextUtil {
+
+    private TextUtil() {}
+
+    /**
+     * Cuts {@code value} to at most {@code max} characters, keeping null as null.
+     */
+    public static String truncate(String value, int max) {
+        return value != null && value.length() > max ? value.substring(0, max) : value;
+    }
+}
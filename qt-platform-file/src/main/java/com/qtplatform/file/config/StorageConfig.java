@@ -13,7 +13,32 @@ public class StorageConfig {
 
     private String uploadPath = "./uploads";
     private long maxFileSize = 1073741824L; // 1GB
+    private boolean dedupEnabled = true;
+    private String backend = "LOCAL"; // LOCAL, S3: where new uploads are stored
+    private Chunk chunk = new Chunk();
+    private S3 s3 = new S3();
     private List<String> allowedExtensions = List.of(
             "exe", "zip", "7z", "tar.gz", "dmg", "AppImage", "msi", "deb", "rpm"
     );
+
+    @Data
+    public static class Chunk {
+        private int partSize = 8 * 1024 * 1024; // 8MB
+        private int sessionTtlHours = 24;
+        private int writeStaleMinutes = 30; // a part write older than this no longer blocks completion
+    }
+
+    @Data
+    public static class S3 {
+        private boolean enabled = false;
+        private String endpoint;
+        private String region = "us-east-1";
+        private String bucket = "qt-platform";
+        private String accessKey;
+        private String secretKey;
+        private boolean pathStyleAccess = true;
+        private boolean createBucket = false;
+        private boolean presignDownloads = true;
+        private long presignTtlSeconds = 300;
+    }
 }
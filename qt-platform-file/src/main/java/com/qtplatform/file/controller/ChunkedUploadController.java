@@ -0,0 +1,76 @@
+package com.qtplatform.file.controller;
+
+import com.qtplatform.common.response.ApiResponse;
+import com.qtplatform.file.dto.InitUploadRequest;
+import com.qtplatform.file.dto.UploadSessionVO;
+import com.qtplatform.file.entity.FileRecord;
+import com.qtplatform.file.service.ChunkedUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/files/uploads")
+@PreAuthorize("isAuthenticated()")
+@RequiredArgsConstructor
+public class ChunkedUploadController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    public ApiResponse<UploadSessionVO> init(@Valid @RequestBody InitUploadRequest request,
+                                             Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ApiResponse.success(chunkedUploadService.init(userId, request));
+    }
+
+    /**
+     * Raw part bytes as the request body; parts may be sent in parallel and retried.
+     */
+    @PutMapping("/{uploadId}/parts/{partNumber}")
+    public ApiResponse<Void> uploadPart(@PathVariable String uploadId,
+                                        @PathVariable int partNumber,
+                                        HttpServletRequest request,
+                                        Authentication authentication) throws IOException {
+        Long userId = (Long) authentication.getPrincipal();
+        chunkedUploadService.uploadPart(userId, uploadId, partNumber,
+                request.getInputStream(), request.getContentLengthLong());
+        return ApiResponse.success();
+    }
+
+    @GetMapping("/{uploadId}")
+    public ApiResponse<UploadSessionVO> getStatus(@PathVariable String uploadId,
+                                                  Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        return ApiResponse.success(chunkedUploadService.getStatus(userId, uploadId));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    public ApiResponse<Map<String, Object>> complete(@PathVariable String uploadId,
+                                                     Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        FileRecord record = chunkedUploadService.complete(userId, uploadId);
+        return ApiResponse.success(Map.of(
+                "id", record.getId(),
+                "originalName", record.getOriginalName(),
+                "filePath", record.getFilePath(),
+                "fileSize", record.getFileSize(),
+                "mimeType", record.getMimeType() != null ? record.getMimeType() : "",
+                "checksumSha256", record.getChecksumSha256(),
+                "checksumMd5", record.getChecksumMd5()
+        ));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    public ApiResponse<Void> abort(@PathVariable String uploadId, Authentication authentication) {
+        Long userId = (Long) authentication.getPrincipal();
+        chunkedUploadService.abort(userId, uploadId);
+        return ApiResponse.success();
+    }
+}
@@ -32,7 +32,8 @@ public class FileController {
                 "filePath", record.getFilePath(),
                 "fileSize", record.getFileSize(),
                 "mimeType", record.getMimeType() != null ? record.getMimeType() : "",
-                "checksumSha256", record.getChecksumSha256()
+                "checksumSha256", record.getChecksumSha256(),
+                "checksumMd5", record.getChecksumMd5()
         ));
     }
 
@@ -0,0 +1,26 @@
+package com.qtplatform.file.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class InitUploadRequest {
+
+    @NotBlank(message = "文件名不能为空")
+    private String fileName;
+
+    @NotNull(message = "文件大小不能为空")
+    @Positive(message = "文件大小必须大于 0")
+    private Long fileSize;
+
+    private String mimeType;
+
+    private String type;
+
+    // Optional; when given, the assembled file must match it
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "SHA256 校验码格式不正确")
+    private String sha256;
+}
@@ -0,0 +1,26 @@
+package com.qtplatform.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionVO {
+
+    private String uploadId;
+    private String fileName;
+    private Long fileSize;
+    private Integer partSize;
+    private Integer totalParts;
+    private String status;
+    private List<Integer> uploadedParts;
+    private Long fileId;
+    private OffsetDateTime expiresAt;
+}
@@ -0,0 +1,26 @@
+package com.qtplatform.file.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("file_blobs")
+public class FileBlob {
+
+    @TableId(type = IdType.INPUT)
+    private String sha256;
+
+    private String filePath;
+    private Long fileSize;
+    private Integer refCount;
+    private String storageType;
+    private OffsetDateTime createdAt;
+}
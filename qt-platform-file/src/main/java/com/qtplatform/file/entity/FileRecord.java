@@ -24,6 +24,7 @@ public class FileRecord {
     private Long fileSize;
     private String mimeType;
     private String checksumSha256;
+    private String checksumMd5;
     private String storageType;
     private Long uploadedBy;
     private OffsetDateTime createdAt;
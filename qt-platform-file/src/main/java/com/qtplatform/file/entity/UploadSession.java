@@ -0,0 +1,35 @@
+package com.qtplatform.file.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("upload_sessions")
+public class UploadSession {
+
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    private String originalName;
+    private Long fileSize;
+    private String mimeType;
+    private String subDir;
+    private Integer partSize;
+    private Integer totalParts;
+    private String expectedSha256;
+    private String stagingPath;
+    private String status; // UPLOADING, COMPLETING, COMPLETED, ABORTED
+    private Long fileId;
+    private Long uploadedBy;
+    private OffsetDateTime expiresAt;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+}
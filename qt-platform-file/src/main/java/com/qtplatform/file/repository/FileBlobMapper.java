@@ -0,0 +1,49 @@
+package com.qtplatform.file.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.file.entity.FileBlob;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+@Mapper
+public interface FileBlobMapper extends BaseMapper<FileBlob> {
+
+    /**
+     * The live blob for this content in the given backend, if any.
+     */
+    @Select("SELECT * FROM file_blobs WHERE sha256 = #{sha256} AND storage_type = #{storageType} AND ref_count > 0")
+    FileBlob findLive(@Param("sha256") String sha256, @Param("storageType") String storageType);
+
+    /**
+     * A live blob for this content in any backend, preferring {@code storageType}.
+     */
+    @Select("SELECT * FROM file_blobs WHERE sha256 = #{sha256} AND ref_count > 0 " +
+            "ORDER BY (storage_type = #{storageType}) DESC LIMIT 1")
+    FileBlob findLivePreferring(@Param("sha256") String sha256, @Param("storageType") String storageType);
+
+    /**
+     * Adds a reference to the blob, creating its row if needed, and returns the
+     * blob as stored. Concurrent callers for the same hash and backend serialize on the row lock.
+     */
+    @Select("INSERT INTO file_blobs (sha256, file_path, file_size, ref_count, storage_type) " +
+            "VALUES (#{sha256}, #{filePath}, #{fileSize}, 1, #{storageType}) " +
+            "ON CONFLICT (sha256, storage_type) DO UPDATE SET ref_count = file_blobs.ref_count + 1 " +
+            "RETURNING *")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    FileBlob acquire(@Param("sha256") String sha256, @Param("filePath") String filePath,
+                     @Param("fileSize") Long fileSize, @Param("storageType") String storageType);
+
+    /**
+     * Drops one reference and returns the remaining count, or null if the blob is unknown.
+     */
+    @Select("UPDATE file_blobs SET ref_count = ref_count - 1 WHERE sha256 = #{sha256} " +
+            "AND storage_type = #{storageType} RETURNING ref_count")
+    @Options(flushCache = Options.FlushCachePolicy.TRUE)
+    Integer release(@Param("sha256") String sha256, @Param("storageType") String storageType);
+
+    @Delete("DELETE FROM file_blobs WHERE sha256 = #{sha256} AND storage_type = #{storageType} AND ref_count <= 0")
+    int deleteUnreferenced(@Param("sha256") String sha256, @Param("storageType") String storageType);
+}
@@ -11,6 +11,7 @@ import java.util.Optional;
 @Mapper
 public interface FileRecordMapper extends BaseMapper<FileRecord> {
 
-    @Select("SELECT * FROM file_records WHERE file_path = #{filePath}")
+    // Deduplicated uploads share a path, so several records may match
+    @Select("SELECT * FROM file_records WHERE file_path = #{filePath} ORDER BY id LIMIT 1")
     Optional<FileRecord> findByFilePath(@Param("filePath") String filePath);
 }
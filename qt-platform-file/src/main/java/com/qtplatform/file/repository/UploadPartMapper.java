@@ -0,0 +1,29 @@
+package com.qtplatform.file.repository;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+@Mapper
+public interface UploadPartMapper {
+
+    @Insert("INSERT INTO upload_parts (session_id, part_number, part_size) " +
+            "VALUES (#{sessionId}, #{partNumber}, #{partSize}) " +
+            "ON CONFLICT (session_id, part_number) DO UPDATE SET part_size = EXCLUDED.part_size, " +
+            "created_at = CURRENT_TIMESTAMP")
+    int upsert(@Param("sessionId") String sessionId, @Param("partNumber") int partNumber,
+               @Param("partSize") long partSize);
+
+    @Select("SELECT part_number FROM upload_parts WHERE session_id = #{sessionId} ORDER BY part_number")
+    List<Integer> findPartNumbers(@Param("sessionId") String sessionId);
+
+    @Select("SELECT COUNT(*) FROM upload_parts WHERE session_id = #{sessionId}")
+    int countParts(@Param("sessionId") String sessionId);
+
+    @Delete("DELETE FROM upload_parts WHERE session_id = #{sessionId}")
+    int deleteBySession(@Param("sessionId") String sessionId);
+}
@@ -0,0 +1,52 @@
+package com.qtplatform.file.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.file.entity.UploadSession;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Mapper
+public interface UploadSessionMapper extends BaseMapper<UploadSession> {
+
+    /**
+     * Moves the session from {@code fromStatus} to {@code toStatus}; returns 0 if
+     * another request changed it first.
+     */
+    @Update("UPDATE upload_sessions SET status = #{toStatus}, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = #{id} AND status = #{fromStatus}")
+    int transition(@Param("id") String id, @Param("fromStatus") String fromStatus,
+                   @Param("toStatus") String toStatus);
+
+    /**
+     * Registers a part write; returns 0 unless the session is still UPLOADING. The
+     * session row serializes this against {@link #beginCompleting}.
+     */
+    @Update("UPDATE upload_sessions SET active_writes = active_writes + 1, write_started_at = CURRENT_TIMESTAMP " +
+            "WHERE id = #{id} AND status = 'UPLOADING'")
+    int beginWrite(@Param("id") String id);
+
+    @Update("UPDATE upload_sessions SET active_writes = GREATEST(active_writes - 1, 0) WHERE id = #{id}")
+    int endWrite(@Param("id") String id);
+
+    /**
+     * Moves UPLOADING to COMPLETING once no part write is in progress; writes started
+     * before {@code staleBefore} are taken to belong to a node that died mid-part.
+     */
+    @Update("UPDATE upload_sessions SET status = 'COMPLETING', updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = #{id} AND status = 'UPLOADING' " +
+            "AND (active_writes = 0 OR write_started_at < #{staleBefore})")
+    int beginCompleting(@Param("id") String id, @Param("staleBefore") OffsetDateTime staleBefore);
+
+    @Update("UPDATE upload_sessions SET status = 'COMPLETED', file_id = #{fileId}, " +
+            "updated_at = CURRENT_TIMESTAMP WHERE id = #{id}")
+    int markCompleted(@Param("id") String id, @Param("fileId") Long fileId);
+
+    @Select("SELECT * FROM upload_sessions WHERE expires_at < CURRENT_TIMESTAMP " +
+            "ORDER BY expires_at LIMIT #{limit}")
+    List<UploadSession> findExpired(@Param("limit") int limit);
+}
@@ -0,0 +1,369 @@
+package com.qtplatform.file.service;
+
+import com.qtplatform.common.exception.BusinessException;
+import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.common.util.FileUtil;
+import com.qtplatform.file.config.StorageConfig;
+import com.qtplatform.file.dto.InitUploadRequest;
+import com.qtplatform.file.dto.UploadSessionVO;
+import com.qtplatform.file.entity.FileRecord;
+import com.qtplatform.file.entity.UploadSession;
+import com.qtplatform.file.repository.FileRecordMapper;
+import com.qtplatform.file.repository.UploadPartMapper;
+import com.qtplatform.file.repository.UploadSessionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads: the client opens a session, PUTs fixed-size parts in any order
+ * (and in parallel), then completes it. Parts are written straight into their offset
+ * of a preallocated staging file; the digest follows the contiguous prefix of received
+ * parts so completing a fully uploaded file only hashes what is left.
+ *
+ * <p>Each part write is registered on the session row while it runs, and completion
+ * only starts once none is registered, so a part re-sent during completion is
+ * rejected instead of changing bytes that are being hashed and stored.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final String UPLOADING = "UPLOADING";
+    private static final String COMPLETING = "COMPLETING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String ABORTED = "ABORTED";
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final StorageConfig storageConfig;
+    private final FileStorageService fileStorageService;
+    private final FileRecordMapper fileRecordMapper;
+    private final UploadSessionMapper sessionMapper;
+    private final UploadPartMapper partMapper;
+
+    // Node-local; a session without one (restart, other node) is hashed in full on completion
+    private final ConcurrentHashMap<String, PartHasher> hashers = new ConcurrentHashMap<>();
+
+    public UploadSessionVO init(Long userId, InitUploadRequest request) {
+        fileStorageService.validateFile(request.getFileName(), request.getFileSize());
+
+        int partSize = storageConfig.getChunk().getPartSize();
+        int totalParts = (int) ((request.getFileSize() + partSize - 1) / partSize);
+        Path stagingPath = null;
+        try {
+            stagingPath = fileStorageService.newStagingPath(".chunked");
+            // Preallocate so parts can land at their offsets in any order
+            try (RandomAccessFile file = new RandomAccessFile(stagingPath.toFile(), "rw")) {
+                file.setLength(request.getFileSize());
+            }
+
+            UploadSession session = UploadSession.builder()
+                    .id(UUID.randomUUID().toString().replace("-", ""))
+                    .originalName(request.getFileName())
+                    .fileSize(request.getFileSize())
+                    .mimeType(request.getMimeType())
+                    .subDir(request.getType() != null ? request.getType() : "general")
+                    .partSize(partSize)
+                    .totalParts(totalParts)
+                    .expectedSha256(request.getSha256() != null ? request.getSha256().toLowerCase() : null)
+                    .stagingPath(stagingPath.toString())
+                    .status(UPLOADING)
+                    .uploadedBy(userId)
+                    .expiresAt(OffsetDateTime.now().plusHours(storageConfig.getChunk().getSessionTtlHours()))
+                    .build();
+            sessionMapper.insert(session);
+
+            log.info("Upload session {} opened: {} ({} parts of {})", session.getId(), session.getOriginalName(),
+                    totalParts, FileUtil.formatFileSize(partSize));
+            return toVO(session, List.of());
+        } catch (IOException e) {
+            fileStorageService.deleteQuietly(stagingPath);
+            log.error("Failed to open upload session", e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    public void uploadPart(Long userId, String uploadId, int partNumber, InputStream body, long contentLength) {
+        UploadSession session = requireSession(uploadId, userId);
+        if (!UPLOADING.equals(session.getStatus())) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "上传会话已结束");
+        }
+        if (partNumber < 1 || partNumber > session.getTotalParts()) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "分片序号无效");
+        }
+
+        long offset = (long) (partNumber - 1) * session.getPartSize();
+        long expected = Math.min(session.getPartSize(), session.getFileSize() - offset);
+        if (contentLength >= 0 && contentLength != expected) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "分片大小不正确");
+        }
+
+        // Re-checks the status atomically with complete(); the check above only fails fast
+        if (sessionMapper.beginWrite(uploadId) == 0) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "上传会话已结束");
+        }
+        try {
+            writePart(session, stagingPath(session), partNumber, body, offset, expected);
+        } finally {
+            sessionMapper.endWrite(uploadId);
+        }
+    }
+
+    private void writePart(UploadSession session, Path stagingPath, int partNumber, InputStream body,
+                           long offset, long expected) {
+        String uploadId = session.getId();
+        try (FileChannel out = FileChannel.open(stagingPath, StandardOpenOption.WRITE)) {
+            ReadableByteChannel in = Channels.newChannel(body);
+            long written = 0;
+            while (written < expected) {
+                long n = out.transferFrom(in, offset + written, expected - written);
+                if (n <= 0) {
+                    break;
+                }
+                written += n;
+            }
+            if (written != expected || body.read() != -1) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID, "分片大小不正确");
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write part {} of upload {}: {}", partNumber, uploadId, e.getMessage());
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        partMapper.upsert(uploadId, partNumber, expected);
+        try {
+            hashers.computeIfAbsent(uploadId, id -> new PartHasher()).partWritten(session, stagingPath, partNumber);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // The digest is recomputed on completion, so the part itself is still good
+            log.warn("Incremental hashing failed for upload {}: {}", uploadId, e.getMessage());
+            hashers.remove(uploadId);
+        }
+    }
+
+    public UploadSessionVO getStatus(Long userId, String uploadId) {
+        UploadSession session = requireSession(uploadId, userId);
+        return toVO(session, partMapper.findPartNumbers(uploadId));
+    }
+
+    public FileRecord complete(Long userId, String uploadId) {
+        UploadSession session = requireSession(uploadId, userId);
+        if (COMPLETED.equals(session.getStatus())) {
+            // Idempotent for clients retrying a completion whose response was lost
+            FileRecord record = fileRecordMapper.selectById(session.getFileId());
+            if (record == null) {
+                throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+            }
+            return record;
+        }
+        OffsetDateTime staleBefore = OffsetDateTime.now().minusMinutes(storageConfig.getChunk().getWriteStaleMinutes());
+        if (sessionMapper.beginCompleting(uploadId, staleBefore) == 0) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "上传会话正在处理、仍有分片在写入或已结束");
+        }
+
+        Path stagingPath = stagingPath(session);
+        boolean completed = false;
+        try {
+            if (partMapper.countParts(uploadId) < session.getTotalParts()) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID, "仍有分片未上传");
+            }
+
+            PartHasher hasher = hashers.computeIfAbsent(uploadId, id -> new PartHasher());
+            FileUtil.Digests digests = hasher.finish(session, stagingPath);
+            if (session.getExpectedSha256() != null && !session.getExpectedSha256().equals(digests.sha256())) {
+                abort(session);
+                throw new BusinessException(ErrorCode.FILE_CHECKSUM_MISMATCH);
+            }
+
+            FileRecord record = fileStorageService.storeStaged(stagingPath, digests, session.getOriginalName(),
+                    session.getMimeType(), userId, session.getSubDir());
+            sessionMapper.markCompleted(uploadId, record.getId());
+            partMapper.deleteBySession(uploadId);
+            completed = true;
+            return record;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to complete upload {}", uploadId, e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        } finally {
+            if (completed) {
+                hashers.remove(uploadId);
+                fileStorageService.deleteQuietly(stagingPath);
+            } else {
+                // Let the client retry: back to UPLOADING unless the session was aborted above
+                sessionMapper.transition(uploadId, COMPLETING, UPLOADING);
+            }
+        }
+    }
+
+    public void abort(Long userId, String uploadId) {
+        UploadSession session = requireSession(uploadId, userId);
+        if (sessionMapper.transition(uploadId, UPLOADING, ABORTED) == 0) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "上传会话正在处理或已结束");
+        }
+        release(session);
+    }
+
+    // Drops staging files and rows of sessions past their expiry, whatever their state
+    @Scheduled(fixedDelayString = "${storage.chunk.cleanup-interval-ms:3600000}",
+            initialDelayString = "${storage.chunk.cleanup-interval-ms:3600000}")
+    public void cleanupExpired() {
+        List<UploadSession> expired;
+        do {
+            expired = sessionMapper.findExpired(CLEANUP_BATCH_SIZE);
+            for (UploadSession session : expired) {
+                release(session);
+                sessionMapper.deleteById(session.getId());
+            }
+            if (!expired.isEmpty()) {
+                log.info("Removed {} expired upload sessions", expired.size());
+            }
+        } while (expired.size() == CLEANUP_BATCH_SIZE);
+
+        // Sessions expired or finished through another node leave their hasher behind here
+        hashers.keySet().removeIf(id -> {
+            UploadSession session = sessionMapper.selectById(id);
+            return session == null || !UPLOADING.equals(session.getStatus());
+        });
+    }
+
+    private void abort(UploadSession session) {
+        sessionMapper.transition(session.getId(), COMPLETING, ABORTED);
+        release(session);
+    }
+
+    private void release(UploadSession session) {
+        hashers.remove(session.getId());
+        partMapper.deleteBySession(session.getId());
+        if (!COMPLETED.equals(session.getStatus())) {
+            fileStorageService.deleteQuietly(Paths.get(session.getStagingPath()));
+        }
+    }
+
+    private static Path stagingPath(UploadSession session) {
+        return Paths.get(session.getStagingPath());
+    }
+
+    private UploadSession requireSession(String uploadId, Long userId) {
+        UploadSession session = sessionMapper.selectById(uploadId);
+        // Other users' sessions are reported as missing rather than forbidden
+        if (session == null || !session.getUploadedBy().equals(userId)
+                || session.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "上传会话不存在或已过期");
+        }
+        return session;
+    }
+
+    private UploadSessionVO toVO(UploadSession session, List<Integer> uploadedParts) {
+        return UploadSessionVO.builder()
+                .uploadId(session.getId())
+                .fileName(session.getOriginalName())
+                .fileSize(session.getFileSize())
+                .partSize(session.getPartSize())
+                .totalParts(session.getTotalParts())
+                .status(session.getStatus())
+                .uploadedParts(uploadedParts)
+                .fileId(session.getFileId())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * Running SHA-256/MD5 over parts 1..nextPart-1. Parts that arrive ahead of the
+     * cursor are remembered and folded in once the gap before them is filled.
+     */
+    private static class PartHasher {
+
+        private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+        private MessageDigest sha256;
+        private MessageDigest md5;
+        private int nextPart = 1;
+        private final Set<Integer> pending = new HashSet<>();
+        private ByteBuffer buffer;
+
+        synchronized void partWritten(UploadSession session, Path path, int partNumber)
+                throws IOException, NoSuchAlgorithmException {
+            if (partNumber < nextPart) {
+                // A hashed part was re-sent and may differ; start over on completion
+                reset();
+                return;
+            }
+            pending.add(partNumber);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (pending.remove(nextPart)) {
+                    hashPart(session, channel, nextPart);
+                    nextPart++;
+                }
+            }
+        }
+
+        synchronized FileUtil.Digests finish(UploadSession session, Path path)
+                throws IOException, NoSuchAlgorithmException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (nextPart <= session.getTotalParts()) {
+                    hashPart(session, channel, nextPart);
+                    nextPart++;
+                }
+            }
+            HexFormat hex = HexFormat.of();
+            FileUtil.Digests digests = new FileUtil.Digests(session.getFileSize(),
+                    hex.formatHex(sha256.digest()), hex.formatHex(md5.digest()));
+            reset();
+            return digests;
+        }
+
+        private void hashPart(UploadSession session, FileChannel channel, int partNumber)
+                throws IOException, NoSuchAlgorithmException {
+            if (sha256 == null) {
+                sha256 = MessageDigest.getInstance("SHA-256");
+                md5 = MessageDigest.getInstance("MD5");
+            }
+            long position = (long) (partNumber - 1) * session.getPartSize();
+            long end = Math.min(position + session.getPartSize(), session.getFileSize());
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            }
+            buffer.clear();
+            while (position < end) {
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of staging file");
+                }
+                buffer.flip();
+                sha256.update(buffer.duplicate());
+                md5.update(buffer);
+                buffer.clear();
+                position += read;
+            }
+        }
+
+        private void reset() {
+            sha256 = null;
+            md5 = null;
+            nextPart = 1;
+            pending.clear();
+        }
+    }
+}
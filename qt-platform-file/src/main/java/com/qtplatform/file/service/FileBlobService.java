@@ -0,0 +1,142 @@
+package com.qtplatform.file.service;
+
+import com.qtplatform.common.exception.BusinessException;
+import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.file.entity.FileBlob;
+import com.qtplatform.file.entity.FileRecord;
+import com.qtplatform.file.repository.FileBlobMapper;
+import com.qtplatform.file.repository.FileRecordMapper;
+import com.qtplatform.file.storage.StorageBackend;
+import com.qtplatform.file.storage.StorageBackends;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Content-addressed storage: uploads with the same SHA-256 share one file under
+ * {@code blobs/} per storage backend, and {@code file_blobs.ref_count} tracks how many
+ * file records point at it. Object uploads happen before the blob row is locked; the
+ * last release deletes the row and the object under that lock, so an upload that
+ * raced it re-checks the object once its own reference is committed.
+ */
+@Slf4j
+@Service
+public class FileBlobService {
+
+    public static final String BLOB_DIR = "blobs";
+
+    private final StorageBackends storageBackends;
+    private final FileBlobMapper fileBlobMapper;
+    private final FileRecordMapper fileRecordMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public FileBlobService(StorageBackends storageBackends, FileBlobMapper fileBlobMapper,
+                           FileRecordMapper fileRecordMapper, PlatformTransactionManager transactionManager) {
+        this.storageBackends = storageBackends;
+        this.fileBlobMapper = fileBlobMapper;
+        this.fileRecordMapper = fileRecordMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static boolean isBlobPath(String filePath) {
+        return filePath != null && filePath.startsWith(BLOB_DIR + "/");
+    }
+
+    public static String blobPath(String sha256, String ext) {
+        String name = ext.isEmpty() ? sha256 : sha256 + "." + ext;
+        return BLOB_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + name;
+    }
+
+    /**
+     * Inserts {@code record}, pointing it at the blob for its checksum. {@code tempPath}
+     * becomes the blob in {@code backend} if no usable blob exists yet; otherwise the
+     * caller discards it. Unless {@code pinned}, a blob already held by another backend
+     * is reused; pinned uploads only share blobs within {@code backend}.
+     */
+    public FileRecord store(FileRecord record, Path tempPath, StorageBackend backend, boolean pinned) {
+        String sha256 = record.getChecksumSha256();
+        FileBlob existing = pinned
+                ? fileBlobMapper.findLive(sha256, backend.type())
+                : fileBlobMapper.findLivePreferring(sha256, backend.type());
+        StorageBackend blobBackend = existing != null ? storageBackends.forType(existing.getStorageType()) : backend;
+        String blobPath = existing != null ? existing.getFilePath() : record.getFilePath();
+
+        // Also restores a blob object that went missing while its row survived
+        boolean uploaded = existing == null || !exists(blobBackend, blobPath);
+        if (uploaded) {
+            put(blobBackend, blobPath, tempPath, record.getMimeType());
+        }
+
+        FileBlob blob = transactionTemplate.execute(status -> {
+            FileBlob acquired = fileBlobMapper.acquire(sha256, blobPath, record.getFileSize(), blobBackend.type());
+            record.setFilePath(acquired.getFilePath());
+            record.setStoredName(acquired.getFilePath().substring(acquired.getFilePath().lastIndexOf('/') + 1));
+            record.setStorageType(acquired.getStorageType());
+            fileRecordMapper.insert(record);
+            return acquired;
+        });
+
+        if (uploaded && !blobPath.equals(blob.getFilePath())) {
+            // A concurrent upload of the same content created the row under another extension
+            deleteQuietly(blobBackend, blobPath);
+        } else if (blob.getRefCount() == 1 && !exists(blobBackend, blob.getFilePath())) {
+            // The previous last reference was released, and its object deleted, after our lookup
+            if (!Files.exists(tempPath)) {
+                transactionTemplate.executeWithoutResult(status -> delete(record));
+                throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+            }
+            put(blobBackend, blob.getFilePath(), tempPath, record.getMimeType());
+        }
+        return record;
+    }
+
+    @Transactional
+    public void delete(FileRecord record) {
+        fileRecordMapper.deleteById(record.getId());
+        Integer remaining = fileBlobMapper.release(record.getChecksumSha256(), record.getStorageType());
+        if (remaining == null || remaining > 0) {
+            return;
+        }
+
+        fileBlobMapper.deleteUnreferenced(record.getChecksumSha256(), record.getStorageType());
+        try {
+            storageBackends.forType(record.getStorageType()).delete(record.getFilePath());
+            log.info("Blob removed: {}", record.getFilePath());
+        } catch (IOException e) {
+            log.error("Blob deletion failed: {}", record.getFilePath(), e);
+            throw new BusinessException(ErrorCode.UNKNOWN_ERROR, "文件删除失败");
+        }
+    }
+
+    private boolean exists(StorageBackend backend, String key) {
+        try {
+            return backend.exists(key);
+        } catch (IOException e) {
+            log.error("Failed to check blob {}", key, e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    private void put(StorageBackend backend, String key, Path source, String contentType) {
+        try {
+            backend.put(key, source, contentType);
+        } catch (IOException e) {
+            log.error("Failed to store blob {}", key, e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    private void deleteQuietly(StorageBackend backend, String key) {
+        try {
+            backend.delete(key);
+        } catch (IOException e) {
+            log.warn("Failed to delete orphaned blob {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.qtplatform.common.util.FileUtil;
 import com.qtplatform.file.config.StorageConfig;
 import com.qtplatform.file.entity.FileRecord;
 import com.qtplatform.file.repository.FileRecordMapper;
+import com.qtplatform.file.storage.StorageBackend;
+import com.qtplatform.file.storage.StorageBackends;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,21 +15,27 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FileStorageService {
 
+    private static final String STAGING_DIR = ".staging";
+    private static final String IMAGE_SUB_DIR = "images";
+
     private final StorageConfig storageConfig;
     private final FileRecordMapper fileRecordMapper;
+    private final FileBlobService fileBlobService;
+    private final StorageBackends storageBackends;
 
     @PostConstruct
     public void init() throws IOException {
@@ -37,38 +45,78 @@ public class FileStorageService {
     public FileRecord uploadFile(MultipartFile file, Long uploadedBy, String subDir) {
         validateFile(file);
 
+        Path tempPath = null;
         try {
-            String originalName = file.getOriginalFilename();
+            tempPath = newStagingPath(".uploading");
+            FileUtil.Digests digests;
+            try (InputStream in = file.getInputStream()) {
+                digests = FileUtil.copyAndDigest(in, tempPath);
+            }
+            return storeStaged(tempPath, digests, file.getOriginalFilename(), file.getContentType(),
+                    uploadedBy, subDir);
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("File upload failed", e);
+            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+        } finally {
+            deleteQuietly(tempPath);
+        }
+    }
+
+    /**
+     * Turns a fully written staging file into a stored file and its {@link FileRecord}.
+     * Staging files live under the upload root, so storing locally is a rename; the
+     * caller still owns {@code tempPath} and deletes it if it was not consumed.
+     */
+    public FileRecord storeStaged(Path tempPath, FileUtil.Digests digests, String originalName,
+                                  String mimeType, Long uploadedBy, String subDir) throws IOException {
+        FileRecord record = FileRecord.builder()
+                .originalName(originalName)
+                .fileSize(digests.size())
+                .mimeType(mimeType)
+                .checksumSha256(digests.sha256())
+                .checksumMd5(digests.md5())
+                .uploadedBy(uploadedBy)
+                .build();
+
+        // Images are linked as /uploads/... and served from the shared volume, so they stay local
+        boolean image = IMAGE_SUB_DIR.equals(subDir);
+        StorageBackend backend = image ? storageBackends.local() : storageBackends.active();
+        if (storageConfig.isDedupEnabled()) {
+            // Identical content is stored once; the staging file is discarded when the blob exists
+            record.setFilePath(FileBlobService.blobPath(digests.sha256(), FileUtil.getExtension(originalName)));
+            record = fileBlobService.store(record, tempPath, backend, image);
+        } else {
             String storedName = FileUtil.generateStoredName(originalName);
             String datePath = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
             String relativePath = (subDir != null ? subDir + "/" : "") + datePath;
-            Path dirPath = Paths.get(storageConfig.getUploadPath(), relativePath);
-            Files.createDirectories(dirPath);
-
-            Path targetPath = dirPath.resolve(storedName);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-            String sha256 = FileUtil.sha256(targetPath);
-            String filePath = relativePath + "/" + storedName;
-
-            FileRecord record = FileRecord.builder()
-                    .originalName(originalName)
-                    .storedName(storedName)
-                    .filePath(filePath)
-                    .fileSize(file.getSize())
-                    .mimeType(file.getContentType())
-                    .checksumSha256(sha256)
-                    .storageType("LOCAL")
-                    .uploadedBy(uploadedBy)
-                    .build();
+            backend.put(relativePath + "/" + storedName, tempPath, mimeType);
+
+            record.setStoredName(storedName);
+            record.setFilePath(relativePath + "/" + storedName);
+            record.setStorageType(backend.type());
             fileRecordMapper.insert(record);
+        }
 
-            log.info("File uploaded: {} -> {} (size={})", originalName, filePath, FileUtil.formatFileSize(file.getSize()));
-            return record;
+        log.info("File uploaded: {} -> {} (size={})", originalName, record.getFilePath(),
+                FileUtil.formatFileSize(digests.size()));
+        return record;
+    }
 
-        } catch (IOException | NoSuchAlgorithmException e) {
-            log.error("File upload failed", e);
-            throw new BusinessException(ErrorCode.FILE_UPLOAD_FAILED);
+    public Path newStagingPath(String suffix) throws IOException {
+        Path stagingDir = Paths.get(storageConfig.getUploadPath(), STAGING_DIR);
+        Files.createDirectories(stagingDir);
+        return stagingDir.resolve(UUID.randomUUID().toString().replace("-", "") + suffix);
+    }
+
+    public void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete staging file {}: {}", path, e.getMessage());
         }
     }
 
@@ -86,9 +134,13 @@ public class FileStorageService {
             throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
         }
 
+        if (FileBlobService.isBlobPath(record.getFilePath())) {
+            fileBlobService.delete(record);
+            return;
+        }
+
         try {
-            Path path = Paths.get(storageConfig.getUploadPath(), record.getFilePath());
-            Files.deleteIfExists(path);
+            storageBackends.forType(record.getStorageType()).delete(record.getFilePath());
             fileRecordMapper.deleteById(fileId);
             log.info("File deleted: {}", record.getFilePath());
         } catch (IOException e) {
@@ -101,10 +153,17 @@ public class FileStorageService {
         if (file == null || file.isEmpty()) {
             throw new BusinessException(ErrorCode.PARAM_INVALID, "文件不能为空");
         }
-        if (file.getSize() > storageConfig.getMaxFileSize()) {
+        validateFile(file.getOriginalFilename(), file.getSize());
+    }
+
+    public void validateFile(String originalName, long size) {
+        if (size <= 0) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "文件不能为空");
+        }
+        if (size > storageConfig.getMaxFileSize()) {
             throw new BusinessException(ErrorCode.FILE_TOO_LARGE);
         }
-        String ext = FileUtil.getExtension(file.getOriginalFilename());
+        String ext = FileUtil.getExtension(originalName);
         if (!storageConfig.getAllowedExtensions().contains(ext) && !isImageExtension(ext)) {
             throw new BusinessException(ErrorCode.FILE_TYPE_NOT_ALLOWED);
         }
@@ -0,0 +1,81 @@
+package com.qtplatform.file.storage;
+
+import com.qtplatform.common.util.FileUtil;
+import com.qtplatform.file.config.StorageConfig;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Files under {@code storage.upload-path}, shared by all nodes through the mounted volume.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalStorageBackend implements StorageBackend {
+
+    public static final String TYPE = "LOCAL";
+
+    private final StorageConfig storageConfig;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        FileUtil.moveAtomically(source, target);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long endInclusive) throws IOException {
+        SeekableByteChannel channel = Files.newByteChannel(resolve(key));
+        channel.position(start);
+        return BoundedInputStream.builder()
+                .setInputStream(Channels.newInputStream(channel))
+                .setMaxCount(endInclusive - start + 1)
+                .get();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public Optional<URI> presign(String key, String downloadName, Duration ttl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        return Paths.get(storageConfig.getUploadPath(), key);
+    }
+}
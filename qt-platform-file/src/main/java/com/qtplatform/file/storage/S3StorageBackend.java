@@ -0,0 +1,173 @@
+package com.qtplatform.file.storage;
+
+import com.qtplatform.file.config.StorageConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * S3-compatible object storage (AWS S3, MinIO, COS/OSS S3 endpoints). Downloads are
+ * handed to clients as presigned URLs so app nodes do not stream the bytes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "storage.s3", name = "enabled", havingValue = "true")
+public class S3StorageBackend implements StorageBackend {
+
+    public static final String TYPE = "S3";
+
+    private final StorageConfig storageConfig;
+
+    private S3Client client;
+    private S3Presigner presigner;
+    private String bucket;
+
+    @PostConstruct
+    public void init() {
+        StorageConfig.S3 config = storageConfig.getS3();
+        bucket = config.getBucket();
+        AwsCredentialsProvider credentials = config.getAccessKey() != null && !config.getAccessKey().isEmpty()
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(config.getAccessKey(), config.getSecretKey()))
+                : DefaultCredentialsProvider.create();
+        S3Configuration serviceConfig = S3Configuration.builder()
+                .pathStyleAccessEnabled(config.isPathStyleAccess())
+                .build();
+        Region region = Region.of(config.getRegion());
+
+        var clientBuilder = S3Client.builder()
+                .region(region)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig);
+        var presignerBuilder = S3Presigner.builder()
+                .region(region)
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfig);
+        if (config.getEndpoint() != null && !config.getEndpoint().isEmpty()) {
+            clientBuilder.endpointOverride(URI.create(config.getEndpoint()));
+            presignerBuilder.endpointOverride(URI.create(config.getEndpoint()));
+        }
+        client = clientBuilder.build();
+        presigner = presignerBuilder.build();
+
+        if (config.isCreateBucket()) {
+            ensureBucket();
+        }
+        log.info("S3 storage backend ready: bucket={}, endpoint={}", bucket, config.getEndpoint());
+    }
+
+    @PreDestroy
+    public void close() {
+        presigner.close();
+        client.close();
+    }
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        try {
+            client.putObject(b -> b.bucket(bucket).key(key)
+                    .contentType(contentType != null ? contentType : "application/octet-stream"),
+                    RequestBody.fromFile(source));
+        } catch (SdkException e) {
+            throw new IOException("S3 put failed for " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        try {
+            return client.getObject(b -> b.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("S3 get failed for " + key, e);
+        }
+    }
+
+    @Override
+    public InputStream getRange(String key, long start, long endInclusive) throws IOException {
+        try {
+            return client.getObject(b -> b.bucket(bucket).key(key).range("bytes=" + start + "-" + endInclusive));
+        } catch (SdkException e) {
+            throw new IOException("S3 range get failed for " + key, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            client.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (SdkException e) {
+            throw new IOException("S3 head failed for " + key, e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            client.deleteObject(b -> b.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("S3 delete failed for " + key, e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presign(String key, String downloadName, Duration ttl) {
+        if (!storageConfig.getS3().isPresignDownloads()) {
+            return Optional.empty();
+        }
+        String disposition = "attachment; filename*=UTF-8''"
+                + URLEncoder.encode(downloadName, StandardCharsets.UTF_8).replace("+", "%20");
+        GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(b -> b.bucket(bucket).key(key).responseContentDisposition(disposition))
+                .build();
+        try {
+            return Optional.of(presigner.presignGetObject(request).url().toURI());
+        } catch (URISyntaxException | SdkException e) {
+            log.warn("Failed to presign {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void ensureBucket() {
+        try {
+            client.headBucket(b -> b.bucket(bucket));
+        } catch (NoSuchBucketException e) {
+            client.createBucket(b -> b.bucket(bucket));
+            log.info("Created S3 bucket {}", bucket);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.qtplatform.file.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Where stored file bytes live. Keys are the relative paths recorded in
+ * {@code file_records.file_path} / {@code product_versions.file_path}; the backend
+ * that holds them is recorded alongside as the storage type.
+ */
+public interface StorageBackend {
+
+    /**
+     * Value stored in {@code storage_type} for objects held by this backend.
+     */
+    String type();
+
+    /**
+     * Stores {@code source} under {@code key}. The source file may be moved; callers
+     * delete it afterwards if it still exists.
+     */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    InputStream get(String key) throws IOException;
+
+    /**
+     * Reads bytes {@code start}..{@code endInclusive} of the object.
+     */
+    InputStream getRange(String key, long start, long endInclusive) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * A time-limited URL clients can download from directly, if the backend supports it.
+     */
+    Optional<URI> presign(String key, String downloadName, Duration ttl);
+
+    /**
+     * The object's path on this node's file system, if it has one (enables sendfile).
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.qtplatform.file.storage;
+
+import com.qtplatform.file.config.StorageConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Looks up backends by storage type. New uploads go to the configured backend;
+ * existing objects are always read from the backend recorded with them, so
+ * switching {@code storage.backend} leaves older files reachable.
+ */
+@Slf4j
+@Component
+public class StorageBackends {
+
+    private final Map<String, StorageBackend> byType = new HashMap<>();
+    private final StorageBackend active;
+    private final StorageBackend local;
+
+    public StorageBackends(List<StorageBackend> backends, StorageConfig storageConfig) {
+        for (StorageBackend backend : backends) {
+            byType.put(backend.type(), backend);
+        }
+        local = byType.get(LocalStorageBackend.TYPE);
+        active = byType.get(storageConfig.getBackend().toUpperCase());
+        if (active == null) {
+            throw new IllegalStateException("Storage backend '" + storageConfig.getBackend()
+                    + "' is not available; enabled backends: " + byType.keySet());
+        }
+        log.info("Storage backend for new uploads: {}", active.type());
+    }
+
+    public StorageBackend active() {
+        return active;
+    }
+
+    public StorageBackend local() {
+        return local;
+    }
+
+    /**
+     * The backend for a stored object; records without a type predate this and are local.
+     */
+    public StorageBackend forType(String storageType) {
+        if (storageType == null) {
+            return local;
+        }
+        StorageBackend backend = byType.get(storageType);
+        if (backend == null) {
+            throw new IllegalStateException("No storage backend enabled for type " + storageType);
+        }
+        return backend;
+    }
+}
@@ -0,0 +1,17 @@
+package com.qtplatform.product.config;
+
+import com.qtplatform.product.delta.DeltaEncoder;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "delta")
+public class DeltaConfig {
+
+    private boolean enabled = true;
+    private int maxSources = 3; // previous versions to diff against
+    private double maxSizeRatio = 0.8; // drop deltas larger than this share of the full package
+    private int blockSize = DeltaEncoder.DEFAULT_BLOCK_SIZE;
+}
@@ -2,11 +2,14 @@ package com.qtplatform.product.controller;
 
 import com.qtplatform.common.response.ApiResponse;
 import com.qtplatform.product.dto.CategoryVO;
+import com.qtplatform.product.service.CategoryCache;
 import com.qtplatform.product.service.CategoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/categories")
@@ -16,8 +19,17 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     @GetMapping
-    public ApiResponse<List<CategoryVO>> getAllCategories() {
-        return ApiResponse.success(categoryService.getAllCategories());
+    public ResponseEntity<byte[]> getAllCategories(WebRequest webRequest) {
+        // Body is serialized once per cache rebuild; clients revalidate with If-None-Match
+        CategoryCache.TreeBody body = categoryService.getCategoryTreeBody();
+        if (webRequest.checkNotModified(body.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(body.json());
     }
 
     @GetMapping("/{id}")
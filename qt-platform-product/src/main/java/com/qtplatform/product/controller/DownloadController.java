@@ -3,24 +3,34 @@ package com.qtplatform.product.controller;
 import com.qtplatform.common.exception.BusinessException;
 import com.qtplatform.common.response.ErrorCode;
 import com.qtplatform.common.util.IpUtil;
+import com.qtplatform.file.storage.StorageBackend;
+import com.qtplatform.file.storage.StorageBackends;
+import com.qtplatform.product.entity.DeltaUpdate;
 import com.qtplatform.product.entity.ProductVersion;
-import com.qtplatform.product.repository.ProductMapper;
+import com.qtplatform.product.repository.DeltaUpdateMapper;
 import com.qtplatform.product.repository.ProductVersionMapper;
+import com.qtplatform.product.service.DownloadAnalyticsService;
+import com.qtplatform.product.service.DownloadCounterService;
+import com.qtplatform.product.service.LatestVersionCache;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -29,13 +39,22 @@ import java.nio.file.Paths;
 public class DownloadController {
 
     private final ProductVersionMapper versionMapper;
-    private final ProductMapper productMapper;
+    private final DeltaUpdateMapper deltaUpdateMapper;
+    private final DownloadCounterService downloadCounterService;
+    private final DownloadAnalyticsService downloadAnalyticsService;
+    private final LatestVersionCache latestVersionCache;
+    private final StorageBackends storageBackends;
 
-    @Value("${storage.upload-path:./uploads}")
-    private String uploadPath;
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    @Value("${storage.s3.presign-ttl-seconds:300}")
+    private long presignTtlSeconds;
 
     @GetMapping("/{productId}/{versionId}")
-    public ResponseEntity<Resource> downloadFile(
+    public ResponseEntity<?> downloadFile(
             @PathVariable Long productId,
             @PathVariable Long versionId,
             @RequestHeader(value = "Range", required = false) String rangeHeader,
@@ -47,60 +66,34 @@ public class DownloadController {
             throw new BusinessException(ErrorCode.VERSION_NOT_FOUND);
         }
 
-        Path filePath = Paths.get(uploadPath, version.getFilePath());
-        if (!Files.exists(filePath)) {
-            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
-        }
-
-        long fileSize = version.getFileSize();
-
-        // Increment counters
-        versionMapper.incrementDownloadCount(versionId);
-        productMapper.incrementDownloadCount(productId, 1);
+        return serve(new StoredFile(version.getFilePath(), version.getStorageType(), version.getFileName(),
+                        version.getFileSize(), version.getChecksumSha256()),
+                () -> recordDownload(productId, versionId, version.getFileSize(), authentication, request),
+                rangeHeader, request);
+    }
 
-        String contentDisposition = "attachment; filename=\"" + version.getFileName() + "\"";
+    @GetMapping("/{productId}/deltas/{deltaId}")
+    public ResponseEntity<?> downloadDelta(
+            @PathVariable Long productId,
+            @PathVariable Long deltaId,
+            @RequestHeader(value = "Range", required = false) String rangeHeader,
+            Authentication authentication,
+            HttpServletRequest request) {
 
-        // No Range header: full download
-        if (rangeHeader == null || rangeHeader.isEmpty()) {
-            Resource resource = new FileSystemResource(filePath);
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(fileSize)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
-                    .header("X-Checksum-SHA256", version.getChecksumSha256())
-                    .body(resource);
+        DeltaUpdate delta = deltaUpdateMapper.selectById(deltaId);
+        if (delta == null || !delta.getProductId().equals(productId)) {
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
         }
 
-        // Range header present: partial content (resume)
-        long[] range = parseRange(rangeHeader, fileSize);
-        long start = range[0];
-        long end = range[1];
-        long contentLength = end - start + 1;
-
-        try {
-            RandomAccessFile raf = new RandomAccessFile(filePath.toFile(), "r");
-            raf.seek(start);
-            byte[] buffer = new byte[(int) Math.min(contentLength, 8 * 1024 * 1024)]; // 8MB max chunk
-            int bytesRead = raf.read(buffer, 0, (int) Math.min(buffer.length, contentLength));
-            raf.close();
-
-            return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(contentLength)
-                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize)
-                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
-                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
-                    .body(new FileSystemResource(filePath));
-
-        } catch (IOException e) {
-            log.error("Download failed for version {}", versionId, e);
-            throw new BusinessException(ErrorCode.FILE_NOT_FOUND, "文件读取失败");
-        }
+        // A delta download is an update to the target version
+        return serve(new StoredFile(delta.getFilePath(), delta.getStorageType(), delta.getFileName(),
+                        delta.getFileSize(), delta.getChecksumSha256()),
+                () -> recordDownload(productId, delta.getToVersionId(), delta.getFileSize(), authentication, request),
+                rangeHeader, request);
     }
 
     @GetMapping("/{productId}/latest")
-    public ResponseEntity<Resource> downloadLatest(
+    public ResponseEntity<?> downloadLatest(
             @PathVariable Long productId,
             @RequestParam(defaultValue = "WINDOWS") String platform,
             @RequestParam(defaultValue = "x64") String arch,
@@ -108,7 +101,7 @@ public class DownloadController {
             Authentication authentication,
             HttpServletRequest request) {
 
-        ProductVersion version = versionMapper.findLatestPublishedWithArch(productId, platform, arch)
+        ProductVersion version = latestVersionCache.find(productId, platform.toUpperCase(), arch)
                 .orElseThrow(() -> new BusinessException(ErrorCode.VERSION_NOT_FOUND));
 
         // Delegate to the main download method
@@ -132,18 +125,174 @@ public class DownloadController {
                 .build();
     }
 
-    private long[] parseRange(String rangeHeader, long fileSize) {
-        // Format: bytes=start-end or bytes=start-
-        String range = rangeHeader.replace("bytes=", "").trim();
-        String[] parts = range.split("-");
-        long start = Long.parseLong(parts[0]);
-        long end = parts.length > 1 && !parts[1].isEmpty()
-                ? Long.parseLong(parts[1])
-                : fileSize - 1;
-
-        if (start >= fileSize || end >= fileSize || start > end) {
-            throw new BusinessException(ErrorCode.PARAM_INVALID, "无效的 Range 请求");
+    private ResponseEntity<?> serve(StoredFile file, Runnable onTransferStart, String rangeHeader,
+                                    HttpServletRequest request) {
+        long fileSize = file.fileSize();
+        String contentDisposition = "attachment; filename=\"" + file.fileName() + "\"";
+        StorageBackend backend = storageBackends.forType(file.storageType());
+
+        // Object storage: the client fetches (and resumes) from the presigned URL directly
+        Optional<URI> presigned = backend.presign(file.filePath(), file.fileName(),
+                Duration.ofSeconds(presignTtlSeconds));
+        if (presigned.isPresent()) {
+            if (isTransferStart(rangeHeader, fileSize)) {
+                onTransferStart.run();
+            }
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(presigned.get())
+                    .cacheControl(CacheControl.noStore())
+                    .header("X-Checksum-SHA256", file.checksumSha256())
+                    .build();
+        }
+
+        Optional<Path> localPath = backend.localPath(file.filePath());
+        if (localPath.isEmpty()) {
+            return streamFromBackend(backend, file, onTransferStart, rangeHeader, contentDisposition);
+        }
+        Path filePath = localPath.get();
+        if (!Files.exists(filePath)) {
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
+        }
+
+        Resource resource = new FileSystemResource(filePath);
+
+        List<HttpRange> ranges;
+        List<ResourceRegion> regions;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+            regions = HttpRange.toResourceRegions(ranges, resource);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                    .build();
+        }
+
+        // Resumed transfers send further Range requests; count only the one starting at byte 0
+        if (isTransferStart(ranges, fileSize)) {
+            onTransferStart.run();
+        }
+
+        // No Range header: full download
+        if (regions.isEmpty()) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(fileSize)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header("X-Checksum-SHA256", file.checksumSha256());
+            if (trySendfile(request, filePath, 0, fileSize)) {
+                return builder.build();
+            }
+            return builder.body(resource);
+        }
+
+        // Single range (resume): hand the region to the container, no heap buffer
+        if (regions.size() == 1) {
+            ResourceRegion region = regions.get(0);
+            long start = region.getPosition();
+            long end = start + region.getCount() - 1;
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+            if (trySendfile(request, filePath, start, end + 1)) {
+                return builder.contentLength(region.getCount())
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize)
+                        .build();
+            }
+            // ResourceRegionHttpMessageConverter sets Content-Range/Content-Length itself
+            return builder.body(region);
+        }
+
+        // Multiple ranges: multipart/byteranges written by ResourceRegionHttpMessageConverter
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                .body(regions);
+    }
+
+    private void recordDownload(Long productId, Long versionId, Long fileSize, Authentication authentication,
+                                HttpServletRequest request) {
+        downloadCounterService.recordDownload(productId, versionId);
+        Long userId = authentication != null && authentication.getPrincipal() instanceof Long id ? id : null;
+        downloadAnalyticsService.record(productId, versionId, userId, IpUtil.getClientIp(request),
+                request.getHeader(HttpHeaders.USER_AGENT), fileSize);
+    }
+
+    private boolean isTransferStart(List<HttpRange> ranges, long fileSize) {
+        return ranges.isEmpty() || ranges.get(0).getRangeStart(fileSize) == 0;
+    }
+
+    private boolean isTransferStart(String rangeHeader, long fileSize) {
+        try {
+            return isTransferStart(HttpRange.parseRanges(rangeHeader), fileSize);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Proxies the object through this node for backends that are neither local nor
+     * presignable. Multiple ranges are answered with the full body, which RFC 9110 allows.
+     */
+    private ResponseEntity<?> streamFromBackend(StorageBackend backend, StoredFile file, Runnable onTransferStart,
+                                                String rangeHeader, String contentDisposition) {
+        long fileSize = file.fileSize();
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            ranges = List.of();
+        }
+        if (isTransferStart(ranges, fileSize)) {
+            onTransferStart.run();
+        }
+
+        try {
+            if (ranges.size() == 1) {
+                long start = ranges.get(0).getRangeStart(fileSize);
+                long end = ranges.get(0).getRangeEnd(fileSize);
+                if (start >= fileSize) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize)
+                            .build();
+                }
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .contentLength(end - start + 1)
+                        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                        .body(new InputStreamResource(backend.getRange(file.filePath(), start, end)));
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(fileSize)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+                    .header("X-Checksum-SHA256", file.checksumSha256())
+                    .body(new InputStreamResource(backend.get(file.filePath())));
+        } catch (IOException e) {
+            log.error("Failed to read {} from {} storage", file.filePath(), backend.type(), e);
+            throw new BusinessException(ErrorCode.FILE_NOT_FOUND);
         }
-        return new long[]{start, end};
     }
+
+    /**
+     * Asks Tomcat to stream the file region with sendfile once the response headers
+     * are written. Only applies when the connector advertises sendfile support.
+     */
+    private boolean trySendfile(HttpServletRequest request, Path filePath, long start, long endExclusive) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTR, filePath.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, start);
+        request.setAttribute(SENDFILE_END_ATTR, endExclusive);
+        return true;
+    }
+
+    private record StoredFile(String filePath, String storageType, String fileName, long fileSize,
+                              String checksumSha256) {}
 }
@@ -2,9 +2,12 @@ package com.qtplatform.product.controller;
 
 import com.qtplatform.common.response.ApiResponse;
 import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.common.util.IpUtil;
 import com.qtplatform.product.dto.*;
 import com.qtplatform.product.service.ProductService;
 import com.qtplatform.product.service.VersionService;
+import com.qtplatform.product.service.ViewCounterService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +23,7 @@ public class ProductController {
 
     private final ProductService productService;
     private final VersionService versionService;
+    private final ViewCounterService viewCounterService;
 
     @GetMapping
     public ApiResponse<PageResponse<ProductVO>> listProducts(
@@ -39,14 +43,30 @@ public class ProductController {
     @GetMapping("/search")
     public ApiResponse<PageResponse<ProductVO>> searchProducts(
             @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String tag,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int size) {
-        return ApiResponse.success(productService.searchProducts(q, page, size));
+        return ApiResponse.success(productService.searchProducts(q, categoryId, tag, page, size));
+    }
+
+    @GetMapping("/search/suggest")
+    public ApiResponse<List<String>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.success(productService.suggest(q, Math.min(limit, 20)));
     }
 
     @GetMapping("/{slug}")
-    public ApiResponse<ProductVO> getProductBySlug(@PathVariable String slug) {
-        return ApiResponse.success(productService.getProductBySlug(slug));
+    public ApiResponse<ProductVO> getProductBySlug(@PathVariable String slug,
+                                                   Authentication authentication,
+                                                   HttpServletRequest request) {
+        ProductVO product = productService.getProductBySlug(slug);
+        String viewer = authentication != null
+                ? "u:" + authentication.getPrincipal()
+                : "ip:" + IpUtil.getClientIp(request);
+        viewCounterService.recordView(product.getId(), viewer);
+        return ApiResponse.success(product);
     }
 
     @GetMapping("/{id}/versions")
@@ -3,6 +3,7 @@ package com.qtplatform.product.controller;
 import com.qtplatform.common.response.ApiResponse;
 import com.qtplatform.common.util.SemanticVersion;
 import com.qtplatform.product.dto.ProductVersionVO;
+import com.qtplatform.product.entity.DeltaUpdate;
 import com.qtplatform.product.service.VersionService;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -45,6 +46,18 @@ public class UpdateController {
 
         String downloadUrl = String.format("/api/v1/downloads/%d/%d", product, latest.getId());
 
+        // Offer a delta when one was generated from the client's current version
+        FullUpdateInfo deltaUpdate = null;
+        DeltaUpdate delta = versionService.getDeltaToVersion(latest.getId(), version);
+        if (delta != null) {
+            deltaUpdate = FullUpdateInfo.builder()
+                    .downloadUrl(String.format("/api/v1/downloads/%d/deltas/%d", product, delta.getId()))
+                    .fileSize(delta.getFileSize())
+                    .checksumSha256(delta.getChecksumSha256())
+                    .fromVersion(delta.getFromVersion())
+                    .build();
+        }
+
         UpdateCheckResponse response = UpdateCheckResponse.builder()
                 .hasUpdate(true)
                 .updateType(Boolean.TRUE.equals(latest.getIsMandatory()) ? "MANDATORY" : "OPTIONAL")
@@ -57,6 +70,7 @@ public class UpdateController {
                         .fileSize(latest.getFileSize())
                         .checksumSha256(latest.getChecksumSha256())
                         .build())
+                .deltaUpdate(deltaUpdate)
                 .forceUpdate(Boolean.TRUE.equals(latest.getIsMandatory()))
                 .build();
 
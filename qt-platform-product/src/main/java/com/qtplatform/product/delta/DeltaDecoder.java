@@ -0,0 +1,117 @@
+package com.qtplatform.product.delta;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Applies a delta written by {@link DeltaEncoder}. Used server-side to verify each
+ * generated delta reproduces the target exactly before it is offered to clients.
+ */
+public final class DeltaDecoder {
+
+    private DeltaDecoder() {}
+
+    /**
+     * Rebuilds the target from {@code source} and the delta into {@code out}.
+     *
+     * @throws IOException if the delta is malformed or the result does not match the
+     *                     size and SHA-256 recorded in the header
+     */
+    public static void apply(Path source, InputStream delta, Path out) throws IOException {
+        DataInputStream header = new DataInputStream(delta);
+        byte[] magic = new byte[DeltaEncoder.MAGIC.length];
+        header.readFully(magic);
+        if (!Arrays.equals(magic, DeltaEncoder.MAGIC) || header.readUnsignedByte() != DeltaEncoder.FORMAT_VERSION) {
+            throw new IOException("Not a supported delta file");
+        }
+        long targetSize = header.readLong();
+        header.readInt();
+        byte[] expectedSha256 = new byte[32];
+        header.readFully(expectedSha256);
+
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long written = 0;
+        try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+             OutputStream target = new DigestOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(out), 64 * 1024), sha256)) {
+            DataInputStream ops = new DataInputStream(new InflaterInputStream(delta, new Inflater(), 64 * 1024));
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (true) {
+                int op = ops.readUnsignedByte();
+                if (op == DeltaEncoder.OP_END) {
+                    break;
+                }
+                if (op == DeltaEncoder.OP_COPY) {
+                    long offset = readVarLong(ops);
+                    long length = readVarLong(ops);
+                    if (offset + length > sourceChannel.size()) {
+                        throw new IOException("Delta copies past end of source");
+                    }
+                    for (long done = 0; done < length; ) {
+                        buffer.clear().limit((int) Math.min(buffer.capacity(), length - done));
+                        int n = sourceChannel.read(buffer, offset + done);
+                        if (n < 0) {
+                            throw new EOFException();
+                        }
+                        target.write(buffer.array(), 0, n);
+                        done += n;
+                    }
+                    written += length;
+                } else if (op == DeltaEncoder.OP_INSERT) {
+                    long length = readVarLong(ops);
+                    for (long done = 0; done < length; ) {
+                        int n = ops.read(buffer.array(), 0, (int) Math.min(buffer.capacity(), length - done));
+                        if (n < 0) {
+                            throw new EOFException();
+                        }
+                        target.write(buffer.array(), 0, n);
+                        done += n;
+                    }
+                    written += length;
+                } else {
+                    throw new IOException("Unknown delta op " + op);
+                }
+                if (written > targetSize) {
+                    throw new IOException("Delta output exceeds target size");
+                }
+            }
+        }
+
+        if (written != targetSize || !MessageDigest.isEqual(sha256.digest(), expectedSha256)) {
+            throw new IOException("Delta output does not match target checksum");
+        }
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in delta");
+    }
+}
@@ -0,0 +1,263 @@
+package com.qtplatform.product.delta;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Binary delta between two releases, rsync style: the old file is indexed in fixed
+ * blocks by a rolling weak checksum, the new file is scanned byte by byte, and
+ * confirmed matches become COPY ops (greedily extended past the block) while
+ * everything else becomes INSERT data.
+ *
+ * <p>Format: {@code "QTDL"}, format version byte, target size (long), block size
+ * (int), target SHA-256 (32 bytes), then a Deflate stream of ops:
+ * {@code 1 <offset varlong> <length varlong>} copies from the old file,
+ * {@code 2 <length varlong> <bytes>} inserts literal bytes, {@code 0} ends.
+ */
+public final class DeltaEncoder {
+
+    static final byte[] MAGIC = {'Q', 'T', 'D', 'L'};
+    static final int FORMAT_VERSION = 1;
+    static final int OP_END = 0;
+    static final int OP_COPY = 1;
+    static final int OP_INSERT = 2;
+
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private static final int MAX_INSERT_CHUNK = 1024 * 1024;
+
+    private DeltaEncoder() {}
+
+    /**
+     * Writes the delta turning {@code source} into {@code target} to {@code out}.
+     *
+     * @param targetSha256 hex SHA-256 of {@code target}, embedded so decoders can verify
+     */
+    public static void encode(Path source, Path target, Path out, int blockSize, String targetSha256)
+            throws IOException {
+        try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.READ);
+             OutputStream file = new BufferedOutputStream(Files.newOutputStream(out), 64 * 1024)) {
+            long sourceSize = sourceChannel.size();
+            long targetSize = targetChannel.size();
+            if (sourceSize > Integer.MAX_VALUE || targetSize > Integer.MAX_VALUE) {
+                throw new IOException("File too large for delta encoding");
+            }
+
+            DataOutputStream header = new DataOutputStream(file);
+            header.write(MAGIC);
+            header.writeByte(FORMAT_VERSION);
+            header.writeLong(targetSize);
+            header.writeInt(blockSize);
+            header.write(HexFormat.of().parseHex(targetSha256));
+            header.flush();
+
+            MappedByteBuffer s = sourceChannel.map(FileChannel.MapMode.READ_ONLY, 0, sourceSize);
+            MappedByteBuffer t = targetChannel.map(FileChannel.MapMode.READ_ONLY, 0, targetSize);
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+            try {
+                DeflaterOutputStream deflated = new DeflaterOutputStream(file, deflater, 64 * 1024);
+                OpWriter ops = new OpWriter(new DataOutputStream(deflated), t);
+                scan(s, (int) sourceSize, t, (int) targetSize, blockSize, ops);
+                ops.finish();
+                deflated.finish();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static void scan(MappedByteBuffer s, int sourceSize, MappedByteBuffer t, int targetSize,
+                             int n, OpWriter ops) throws IOException {
+        if (sourceSize < n || targetSize < n) {
+            ops.literal(0, targetSize);
+            return;
+        }
+        BlockIndex index = BlockIndex.build(s, sourceSize, n);
+
+        int pos = 0;
+        int literalStart = 0;
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < n; i++) {
+            int v = t.get(i) & 0xFF;
+            a += v;
+            b += (n - i) * v;
+        }
+        a &= 0xFFFF;
+        b &= 0xFFFF;
+
+        while (pos + n <= targetSize) {
+            int block = index.find((b << 16) | a, s, t, pos);
+            if (block >= 0) {
+                long sourceOffset = (long) block * n;
+                int length = n;
+                while (pos + length < targetSize && sourceOffset + length < sourceSize
+                        && t.get(pos + length) == s.get((int) sourceOffset + length)) {
+                    length++;
+                }
+                ops.literal(literalStart, pos);
+                ops.copy(sourceOffset, length);
+                pos += length;
+                literalStart = pos;
+
+                if (pos + n <= targetSize) {
+                    a = 0;
+                    b = 0;
+                    for (int i = 0; i < n; i++) {
+                        int v = t.get(pos + i) & 0xFF;
+                        a += v;
+                        b += (n - i) * v;
+                    }
+                    a &= 0xFFFF;
+                    b &= 0xFFFF;
+                }
+                continue;
+            }
+
+            if (pos + n < targetSize) {
+                int out = t.get(pos) & 0xFF;
+                int in = t.get(pos + n) & 0xFF;
+                a = (a - out + in) & 0xFFFF;
+                b = (b - n * out + a) & 0xFFFF;
+            }
+            pos++;
+        }
+        ops.literal(literalStart, targetSize);
+    }
+
+    /**
+     * Source blocks by weak checksum, chained through {@code next} so blocks sharing
+     * a checksum cost one int each.
+     */
+    private static final class BlockIndex {
+
+        private final Map<Integer, Integer> head;
+        private final int[] next;
+        private final int blockSize;
+
+        private BlockIndex(int blocks, int blockSize) {
+            this.head = new HashMap<>(blocks * 2);
+            this.next = new int[blocks];
+            this.blockSize = blockSize;
+        }
+
+        static BlockIndex build(MappedByteBuffer s, int sourceSize, int n) {
+            int blocks = sourceSize / n;
+            BlockIndex index = new BlockIndex(blocks, n);
+            Arrays.fill(index.next, -1);
+            // Insert in reverse so chains list earlier blocks first
+            for (int block = blocks - 1; block >= 0; block--) {
+                int a = 0;
+                int b = 0;
+                int base = block * n;
+                for (int i = 0; i < n; i++) {
+                    int v = s.get(base + i) & 0xFF;
+                    a += v;
+                    b += (n - i) * v;
+                }
+                int weak = ((b & 0xFFFF) << 16) | (a & 0xFFFF);
+                Integer previous = index.head.put(weak, block);
+                index.next[block] = previous != null ? previous : -1;
+            }
+            return index;
+        }
+
+        int find(int weak, MappedByteBuffer s, MappedByteBuffer t, int pos) {
+            Integer block = head.get(weak);
+            int candidate = block != null ? block : -1;
+            while (candidate >= 0) {
+                if (sameBytes(s, candidate * blockSize, t, pos)) {
+                    return candidate;
+                }
+                candidate = next[candidate];
+            }
+            return -1;
+        }
+
+        private boolean sameBytes(MappedByteBuffer s, int sourceOffset, MappedByteBuffer t, int targetOffset) {
+            return s.slice(sourceOffset, blockSize).equals(t.slice(targetOffset, blockSize));
+        }
+    }
+
+    /**
+     * Emits ops, merging adjacent copies and splitting large inserts.
+     */
+    private static final class OpWriter {
+
+        private final DataOutputStream out;
+        private final MappedByteBuffer target;
+        private final byte[] chunk = new byte[64 * 1024];
+        private long copyOffset = -1;
+        private long copyLength;
+
+        OpWriter(DataOutputStream out, MappedByteBuffer target) {
+            this.out = out;
+            this.target = target;
+        }
+
+        void copy(long offset, long length) throws IOException {
+            if (copyOffset >= 0 && copyOffset + copyLength == offset) {
+                copyLength += length;
+                return;
+            }
+            flushCopy();
+            copyOffset = offset;
+            copyLength = length;
+        }
+
+        void literal(int from, int to) throws IOException {
+            if (from >= to) {
+                return;
+            }
+            flushCopy();
+            for (int start = from; start < to; start += MAX_INSERT_CHUNK) {
+                int end = Math.min(to, start + MAX_INSERT_CHUNK);
+                out.writeByte(OP_INSERT);
+                writeVarLong(out, end - start);
+                for (int p = start; p < end; p += chunk.length) {
+                    int len = Math.min(chunk.length, end - p);
+                    target.get(p, chunk, 0, len);
+                    out.write(chunk, 0, len);
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            flushCopy();
+            out.writeByte(OP_END);
+            out.flush();
+        }
+
+        private void flushCopy() throws IOException {
+            if (copyOffset < 0) {
+                return;
+            }
+            out.writeByte(OP_COPY);
+            writeVarLong(out, copyOffset);
+            writeVarLong(out, copyLength);
+            copyOffset = -1;
+        }
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
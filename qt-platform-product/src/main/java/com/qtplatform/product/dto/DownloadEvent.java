@@ -0,0 +1,26 @@
+package com.qtplatform.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One download as captured on the request path, written to download_records in batches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DownloadEvent {
+
+    private Long productId;
+    private Long versionId;
+    private Long userId;
+    private String ipAddress;
+    private String userAgent;
+    private OffsetDateTime downloadAt;
+    private Long fileSize;
+}
@@ -0,0 +1,18 @@
+package com.qtplatform.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStatsSummary {
+
+    private Long productId;
+    private String productName;
+    private long downloads;
+    private long views;
+}
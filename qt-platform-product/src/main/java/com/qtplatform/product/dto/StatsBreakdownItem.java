@@ -0,0 +1,16 @@
+package com.qtplatform.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsBreakdownItem {
+
+    private String key;
+    private long downloads;
+}
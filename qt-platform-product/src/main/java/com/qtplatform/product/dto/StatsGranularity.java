@@ -0,0 +1,12 @@
+package com.qtplatform.product.dto;
+
+/**
+ * Bucket size of a statistics trend query.
+ */
+public enum StatsGranularity {
+
+    // stats_hourly; only kept for stats.rollup.hourly-retention-days
+    HOUR,
+    // stats_daily, in the stats.rollup.zone calendar
+    DAY
+}
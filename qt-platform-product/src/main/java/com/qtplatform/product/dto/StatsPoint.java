@@ -0,0 +1,19 @@
+package com.qtplatform.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsPoint {
+
+    private LocalDateTime bucket; // start of the hour or day, in the stats zone
+    private long downloads;
+    private long views;
+}
@@ -26,6 +26,11 @@ public class DeltaUpdate {
     private String fileName;
     private Long fileSize;
     private String filePath;
+    private String storageType;
     private String checksumSha256;
     private OffsetDateTime createdAt;
+
+    // Version number the delta applies to, joined in for update checks
+    @TableField(exist = false)
+    private String fromVersion;
 }
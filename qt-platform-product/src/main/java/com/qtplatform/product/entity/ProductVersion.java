@@ -29,6 +29,7 @@ public class ProductVersion {
     private Long fileSize;
     private String filePath;
     private String fileUrl;
+    private String storageType;
     private String checksumMd5;
     private String checksumSha256;
     private String signature;
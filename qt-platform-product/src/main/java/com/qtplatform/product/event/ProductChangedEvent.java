@@ -0,0 +1,17 @@
+package com.qtplatform.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by ProductService whenever a product row is created, updated,
+ * audited or deleted. Listeners that derive state from products (e.g. the
+ * search index) refresh the affected entry after the transaction commits.
+ */
+@Data
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private Long productId;
+    private String slug;
+}
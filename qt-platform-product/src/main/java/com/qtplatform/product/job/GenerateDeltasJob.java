@@ -0,0 +1,31 @@
+package com.qtplatform.product.job;
+
+import com.qtplatform.common.job.JobHandler;
+import com.qtplatform.product.dto.VersionJobPayload;
+import com.qtplatform.product.service.DeltaUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class GenerateDeltasJob implements JobHandler<VersionJobPayload> {
+
+    public static final String TYPE = "generate-deltas";
+
+    private final DeltaUpdateService deltaUpdateService;
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+
+    @Override
+    public Class<VersionJobPayload> payloadType() {
+        return VersionJobPayload.class;
+    }
+
+    @Override
+    public void handle(VersionJobPayload payload) throws Exception {
+        deltaUpdateService.generateDeltas(payload.getVersionId());
+    }
+}
@@ -15,6 +15,9 @@ public interface CategoryMapper extends BaseMapper<Category> {
     @Select("SELECT * FROM categories WHERE slug = #{slug}")
     Optional<Category> findBySlug(@Param("slug") String slug);
 
+    @Select("SELECT * FROM categories ORDER BY sort_order, id")
+    List<Category> findAllOrdered();
+
     @Select("SELECT * FROM categories WHERE parent_id IS NULL ORDER BY sort_order")
     List<Category> findTopLevel();
 
@@ -6,6 +6,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.List;
 import java.util.Optional;
 
 @Mapper
@@ -13,4 +14,10 @@ public interface DeltaUpdateMapper extends BaseMapper<DeltaUpdate> {
 
     @Select("SELECT * FROM delta_updates WHERE from_version_id = #{fromId} AND to_version_id = #{toId} AND platform = #{platform} AND architecture = #{arch}")
     Optional<DeltaUpdate> findDelta(@Param("fromId") Long fromId, @Param("toId") Long toId, @Param("platform") String platform, @Param("arch") String arch);
+
+    @Select("SELECT d.*, f.version_number AS from_version FROM delta_updates d " +
+            "JOIN product_versions t ON t.id = d.to_version_id " +
+            "JOIN product_versions f ON f.id = d.from_version_id " +
+            "WHERE t.is_latest = true AND t.status = 'PUBLISHED'")
+    List<DeltaUpdate> findAllToLatestPublished();
 }
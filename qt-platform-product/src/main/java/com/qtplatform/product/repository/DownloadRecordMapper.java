@@ -0,0 +1,19 @@
+package com.qtplatform.product.repository;
+
+import com.qtplatform.product.dto.DownloadEvent;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface DownloadRecordMapper {
+
+    @Insert("<script>INSERT INTO download_records " +
+            "(product_id, version_id, user_id, ip_address, user_agent, download_at, file_size) VALUES " +
+            "<foreach collection='events' item='e' separator=','>" +
+            "(#{e.productId}, #{e.versionId}, #{e.userId}, #{e.ipAddress}::inet, #{e.userAgent}, #{e.downloadAt}, #{e.fileSize})" +
+            "</foreach></script>")
+    int insertBatch(@Param("events") List<DownloadEvent> events);
+}
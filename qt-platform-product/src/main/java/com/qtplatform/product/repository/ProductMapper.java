@@ -1,12 +1,18 @@
 package com.qtplatform.product.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.product.dto.CounterDelta;
 import com.qtplatform.product.entity.Product;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.ResultMap;
+import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.type.ArrayTypeHandler;
 
+import java.util.List;
 import java.util.Optional;
 
 @Mapper
@@ -21,9 +27,29 @@ public interface ProductMapper extends BaseMapper<Product> {
     @Update("UPDATE products SET download_count = download_count + #{count} WHERE id = #{productId}")
     void incrementDownloadCount(@Param("productId") Long productId, @Param("count") long count);
 
+    @Update("<script>UPDATE products AS p SET download_count = p.download_count + d.delta FROM (VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>(#{d.id}::bigint, #{d.delta}::bigint)</foreach>" +
+            ") AS d(id, delta) WHERE p.id = d.id</script>")
+    int batchIncrementDownloadCount(@Param("deltas") List<CounterDelta> deltas);
+
     @Update("UPDATE products SET view_count = view_count + 1 WHERE id = #{productId}")
     void incrementViewCount(@Param("productId") Long productId);
 
+    @Update("<script>UPDATE products AS p SET view_count = p.view_count + d.delta FROM (VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>(#{d.id}::bigint, #{d.delta}::bigint)</foreach>" +
+            ") AS d(id, delta) WHERE p.id = d.id</script>")
+    int batchIncrementViewCount(@Param("deltas") List<CounterDelta> deltas);
+
     @Update("UPDATE products SET rating_average = #{avg}, rating_count = #{count} WHERE id = #{productId}")
     void updateRating(@Param("productId") Long productId, @Param("avg") double avg, @Param("count") int count);
+
+    @Select("SELECT id, name, name_en, description, description_en, category_id, status, tags, download_count FROM products")
+    @Results(id = "productSearchDoc", value = {
+            @Result(column = "tags", property = "tags", typeHandler = ArrayTypeHandler.class)
+    })
+    List<Product> findAllSearchDocs();
+
+    @Select("SELECT id, name, name_en, description, description_en, category_id, status, tags, download_count FROM products WHERE id = #{id}")
+    @ResultMap("productSearchDoc")
+    Product findSearchDocById(@Param("id") Long id);
 }
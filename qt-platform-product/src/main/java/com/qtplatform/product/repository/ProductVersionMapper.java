@@ -1,6 +1,7 @@
 package com.qtplatform.product.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qtplatform.product.dto.CounterDelta;
 import com.qtplatform.product.entity.ProductVersion;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -19,15 +20,29 @@ public interface ProductVersionMapper extends BaseMapper<ProductVersion> {
     @Select("SELECT * FROM product_versions WHERE product_id = #{productId} AND platform = #{platform} AND architecture = #{arch} AND is_latest = true AND status = 'PUBLISHED' LIMIT 1")
     Optional<ProductVersion> findLatestPublishedWithArch(@Param("productId") Long productId, @Param("platform") String platform, @Param("arch") String arch);
 
+    @Select("SELECT * FROM product_versions WHERE is_latest = true AND status = 'PUBLISHED'")
+    List<ProductVersion> findAllLatestPublished();
+
     @Select("SELECT * FROM product_versions WHERE product_id = #{productId} AND status = 'PUBLISHED' ORDER BY version_code DESC")
     List<ProductVersion> findPublishedByProduct(@Param("productId") Long productId);
 
+    @Select("SELECT * FROM product_versions WHERE product_id = #{productId} AND platform = #{platform} AND architecture = #{arch} " +
+            "AND status = 'PUBLISHED' AND version_code < #{versionCode} ORDER BY version_code DESC LIMIT #{limit}")
+    List<ProductVersion> findPreviousPublished(@Param("productId") Long productId, @Param("platform") String platform,
+                                               @Param("arch") String arch, @Param("versionCode") Integer versionCode,
+                                               @Param("limit") int limit);
+
     @Update("UPDATE product_versions SET is_latest = false WHERE product_id = #{productId} AND platform = #{platform} AND architecture = #{arch}")
     void clearLatestFlag(@Param("productId") Long productId, @Param("platform") String platform, @Param("arch") String arch);
 
     @Update("UPDATE product_versions SET download_count = download_count + 1 WHERE id = #{versionId}")
     void incrementDownloadCount(@Param("versionId") Long versionId);
 
+    @Update("<script>UPDATE product_versions AS v SET download_count = v.download_count + d.delta FROM (VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>(#{d.id}::bigint, #{d.delta}::bigint)</foreach>" +
+            ") AS d(id, delta) WHERE v.id = d.id</script>")
+    int batchIncrementDownloadCount(@Param("deltas") List<CounterDelta> deltas);
+
     @Select("SELECT EXISTS(SELECT 1 FROM product_versions WHERE product_id = #{productId} AND version_number = #{versionNumber} AND platform = #{platform} AND architecture = #{arch})")
     boolean existsByProductAndVersionAndPlatform(@Param("productId") Long productId, @Param("versionNumber") String versionNumber, @Param("platform") String platform, @Param("arch") String arch);
 }
@@ -0,0 +1,99 @@
+package com.qtplatform.product.repository;
+
+import com.qtplatform.product.dto.CounterDelta;
+import com.qtplatform.product.dto.ProductStatsSummary;
+import com.qtplatform.product.dto.StatsBreakdownItem;
+import com.qtplatform.product.dto.StatsPoint;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Mapper
+public interface StatsRollupMapper {
+
+    String FILTERS = "<if test='productId != null'> AND s.product_id = #{productId}</if>" +
+            "<if test='versionId != null'> AND s.version_id = #{versionId}</if>" +
+            "<if test='platform != null'> AND s.platform = #{platform}</if>" +
+            "<if test='country != null'> AND s.country = #{country}</if>";
+
+    // Replaces the download counts of every hour in [from, to); both bounds must be on the hour
+    @Insert("INSERT INTO stats_hourly (bucket_start, product_id, version_id, platform, country, downloads) " +
+            "SELECT date_trunc('hour', r.download_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC', r.product_id, " +
+            "COALESCE(r.version_id, 0), COALESCE(v.platform, ''), COALESCE(r.country, ''), COUNT(*) " +
+            "FROM download_records r LEFT JOIN product_versions v ON v.id = r.version_id " +
+            "WHERE r.download_at >= #{from} AND r.download_at < #{to} " +
+            "GROUP BY 1, 2, 3, 4, 5 " +
+            "ON CONFLICT (bucket_start, product_id, version_id, platform, country) " +
+            "DO UPDATE SET downloads = EXCLUDED.downloads")
+    int rollupHourlyDownloads(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to);
+
+    @Insert("<script>INSERT INTO stats_hourly (bucket_start, product_id, views) VALUES " +
+            "<foreach collection='deltas' item='d' separator=','>(#{bucketStart}, #{d.id}, #{d.delta})</foreach> " +
+            "ON CONFLICT (bucket_start, product_id, version_id, platform, country) " +
+            "DO UPDATE SET views = stats_hourly.views + EXCLUDED.views</script>")
+    int addHourlyViews(@Param("bucketStart") OffsetDateTime bucketStart, @Param("deltas") List<CounterDelta> deltas);
+
+    // Rebuilds the days covered by [from, to) from stats_hourly; both bounds must be midnight in the zone
+    @Insert("INSERT INTO stats_daily (bucket_date, product_id, version_id, platform, country, downloads, views) " +
+            "SELECT (h.bucket_start AT TIME ZONE #{zone})::date, h.product_id, h.version_id, h.platform, h.country, " +
+            "SUM(h.downloads), SUM(h.views) " +
+            "FROM stats_hourly h WHERE h.bucket_start >= #{from} AND h.bucket_start < #{to} " +
+            "GROUP BY 1, 2, 3, 4, 5 " +
+            "ON CONFLICT (bucket_date, product_id, version_id, platform, country) " +
+            "DO UPDATE SET downloads = EXCLUDED.downloads, views = EXCLUDED.views")
+    int rollupDaily(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to, @Param("zone") String zone);
+
+    @Select("SELECT processed_until FROM stats_rollup_state WHERE name = #{name}")
+    OffsetDateTime findProcessedUntil(@Param("name") String name);
+
+    @Insert("INSERT INTO stats_rollup_state (name, processed_until) VALUES (#{name}, #{processedUntil}) " +
+            "ON CONFLICT (name) DO UPDATE SET processed_until = EXCLUDED.processed_until, updated_at = CURRENT_TIMESTAMP")
+    void saveProcessedUntil(@Param("name") String name, @Param("processedUntil") OffsetDateTime processedUntil);
+
+    @Delete("DELETE FROM stats_hourly WHERE bucket_start < #{before}")
+    int purgeHourly(@Param("before") OffsetDateTime before);
+
+    @Select("<script>SELECT (s.bucket_start AT TIME ZONE #{zone}) AS bucket, " +
+            "SUM(s.downloads) AS downloads, SUM(s.views) AS views " +
+            "FROM stats_hourly s WHERE s.bucket_start >= #{from} AND s.bucket_start &lt; #{to}" + FILTERS +
+            " GROUP BY s.bucket_start ORDER BY s.bucket_start</script>")
+    List<StatsPoint> hourlyTrend(@Param("from") OffsetDateTime from, @Param("to") OffsetDateTime to,
+                                 @Param("zone") String zone, @Param("productId") Long productId,
+                                 @Param("versionId") Long versionId, @Param("platform") String platform,
+                                 @Param("country") String country);
+
+    @Select("<script>SELECT s.bucket_date::timestamp AS bucket, " +
+            "SUM(s.downloads) AS downloads, SUM(s.views) AS views " +
+            "FROM stats_daily s WHERE s.bucket_date &gt;= #{from} AND s.bucket_date &lt; #{to}" + FILTERS +
+            " GROUP BY s.bucket_date ORDER BY s.bucket_date</script>")
+    List<StatsPoint> dailyTrend(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                @Param("productId") Long productId, @Param("versionId") Long versionId,
+                                @Param("platform") String platform, @Param("country") String country);
+
+    @Select("SELECT s.product_id, p.name AS product_name, SUM(s.downloads) AS downloads, SUM(s.views) AS views " +
+            "FROM stats_daily s LEFT JOIN products p ON p.id = s.product_id " +
+            "WHERE s.bucket_date >= #{from} AND s.bucket_date < #{to} " +
+            "GROUP BY s.product_id, p.name ORDER BY downloads DESC, s.product_id LIMIT #{limit}")
+    List<ProductStatsSummary> topProducts(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                          @Param("limit") int limit);
+
+    @Select("<script>SELECT " +
+            "<choose>" +
+            "<when test='dimension == \"version\"'>COALESCE(v.version_number, s.version_id::text)</when>" +
+            "<when test='dimension == \"platform\"'>s.platform</when>" +
+            "<otherwise>s.country</otherwise>" +
+            "</choose> AS key, SUM(s.downloads) AS downloads " +
+            "FROM stats_daily s LEFT JOIN product_versions v ON v.id = s.version_id " +
+            "WHERE s.bucket_date &gt;= #{from} AND s.bucket_date &lt; #{to}" +
+            "<if test='productId != null'> AND s.product_id = #{productId}</if>" +
+            " GROUP BY 1 HAVING SUM(s.downloads) &gt; 0 ORDER BY downloads DESC LIMIT #{limit}</script>")
+    List<StatsBreakdownItem> breakdown(@Param("dimension") String dimension, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to, @Param("productId") Long productId,
+                                       @Param("limit") int limit);
+}
@@ -0,0 +1,312 @@
+package com.qtplatform.product.search;
+
+import com.qtplatform.common.cache.CacheInvalidationListener;
+import com.qtplatform.common.cache.CacheRegion;
+import com.qtplatform.product.entity.Product;
+import com.qtplatform.product.event.ProductChangedEvent;
+import com.qtplatform.product.repository.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over product name, description and tags.
+ * Fully rebuilt at startup and periodically; individual products are
+ * re-indexed from {@link ProductChangedEvent}s after commit, and from PRODUCT
+ * invalidations when the change was made on another node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex implements CacheInvalidationListener {
+
+    private static final float WEIGHT_NAME = 5f;
+    private static final float WEIGHT_TAG = 3f;
+    private static final float WEIGHT_DESCRIPTION = 1f;
+    private static final float PREFIX_PENALTY = 0.6f;
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    private final ProductMapper productMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // token -> (product id -> weighted term frequency)
+    private NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private Map<Long, Doc> docs = new HashMap<>();
+    // Products re-indexed while a rebuild's snapshot is in flight; guarded by the write lock
+    private Set<Long> reindexedDuringRebuild;
+    private final Object rebuildMonitor = new Object();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Picks up counter drift and writes that bypassed ProductService
+    @Scheduled(fixedDelayString = "${search.rebuild-interval-ms:600000}",
+            initialDelayString = "${search.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        reindex(event.getProductId());
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.PRODUCT;
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        for (String key : keys) {
+            reindex(Long.valueOf(key));
+        }
+    }
+
+    @Override
+    public void reload() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        synchronized (rebuildMonitor) {
+            lock.writeLock().lock();
+            try {
+                reindexedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Set<Long> replay = Set.of();
+            try {
+                List<Product> products = productMapper.findAllSearchDocs();
+                NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+                Map<Long, Doc> newDocs = new HashMap<>(products.size() * 2);
+                for (Product product : products) {
+                    add(product, newPostings, newDocs);
+                }
+
+                lock.writeLock().lock();
+                try {
+                    postings = newPostings;
+                    docs = newDocs;
+                    replay = reindexedDuringRebuild;
+                    reindexedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("Product search index rebuilt: {} products, {} terms", newDocs.size(), newPostings.size());
+            } catch (Exception e) {
+                log.error("Failed to rebuild product search index", e);
+                lock.writeLock().lock();
+                try {
+                    reindexedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            // The snapshot may predate these changes; apply them again on top of it
+            for (Long productId : replay) {
+                try {
+                    reindex(productId);
+                } catch (Exception e) {
+                    log.warn("Failed to re-index product {} after rebuild: {}", productId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public void reindex(Long productId) {
+        Product product = productMapper.findSearchDocById(productId);
+        lock.writeLock().lock();
+        try {
+            remove(productId);
+            if (product != null) {
+                add(product, postings, docs);
+            }
+            if (reindexedDuringRebuild != null) {
+                reindexedDuringRebuild.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(SearchQuery query) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query.getKeyword())));
+        if (terms.isEmpty()) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        List<Scored> matches;
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = score(terms, query.isPrefix());
+            String tag = query.getTag() != null ? SearchTokenizer.normalize(query.getTag()) : null;
+            matches = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Float> e : scores.entrySet()) {
+                Doc doc = docs.get(e.getKey());
+                if (doc == null
+                        || (query.getStatus() != null && !query.getStatus().equals(doc.status()))
+                        || (query.getCategoryId() != null && !query.getCategoryId().equals(doc.categoryId()))
+                        || (tag != null && !doc.tags().contains(tag))) {
+                    continue;
+                }
+                matches.add(new Scored(doc, e.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingDouble((Scored s) -> s.score()).reversed()
+                .thenComparing(s -> s.doc().downloadCount(), Comparator.reverseOrder())
+                .thenComparing(s -> s.doc().id(), Comparator.reverseOrder()));
+
+        int from = Math.max(0, (query.getPage() - 1) * query.getSize());
+        int to = Math.min(matches.size(), from + query.getSize());
+        List<Long> ids = from >= to ? Collections.emptyList()
+                : matches.subList(from, to).stream().map(s -> s.doc().id()).collect(Collectors.toList());
+        return new SearchResult(ids, matches.size());
+    }
+
+    /**
+     * Returns names of the best-matching published products for search-as-you-type.
+     */
+    public List<String> suggest(String keyword, int limit) {
+        SearchResult result = search(SearchQuery.builder()
+                .keyword(keyword)
+                .status("PUBLISHED")
+                .page(1)
+                .size(limit)
+                .build());
+        lock.readLock().lock();
+        try {
+            return result.getIds().stream()
+                    .map(docs::get)
+                    .filter(Objects::nonNull)
+                    .map(Doc::name)
+                    .distinct()
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Conjunctive match: every query term must hit; the last one may be a prefix
+    private Map<Long, Float> score(List<String> terms, boolean prefix) {
+        int n = Math.max(docs.size(), 1);
+        Map<Long, Float> result = null;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            Map<Long, Float> termScores = new HashMap<>();
+            accumulate(term, postings.get(term), n, 1f, termScores);
+            if (prefix && i == terms.size() - 1) {
+                int expanded = 0;
+                for (Map.Entry<String, Map<Long, Float>> e
+                        : postings.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+                    if (++expanded > MAX_PREFIX_EXPANSION) {
+                        break;
+                    }
+                    accumulate(e.getKey(), e.getValue(), n, PREFIX_PENALTY, termScores);
+                }
+            }
+
+            if (result == null) {
+                result = termScores;
+            } else {
+                result.keySet().retainAll(termScores.keySet());
+                for (Map.Entry<Long, Float> e : result.entrySet()) {
+                    e.setValue(e.getValue() + termScores.get(e.getKey()));
+                }
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void accumulate(String term, Map<Long, Float> posting, int n, float factor, Map<Long, Float> out) {
+        if (posting == null || posting.isEmpty()) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (double) n / posting.size());
+        posting.forEach((id, tf) -> out.merge(id, tf * idf * factor, Float::sum));
+    }
+
+    private void add(Product product, NavigableMap<String, Map<Long, Float>> postings, Map<Long, Doc> docs) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, product.getName(), WEIGHT_NAME);
+        addField(weights, product.getNameEn(), WEIGHT_NAME);
+        addField(weights, product.getDescription(), WEIGHT_DESCRIPTION);
+        addField(weights, product.getDescriptionEn(), WEIGHT_DESCRIPTION);
+
+        Set<String> tags = new HashSet<>();
+        if (product.getTags() != null) {
+            for (String tag : product.getTags()) {
+                if (tag == null) {
+                    continue;
+                }
+                tags.add(SearchTokenizer.normalize(tag));
+                addField(weights, tag, WEIGHT_TAG);
+            }
+        }
+
+        Long id = product.getId();
+        weights.forEach((term, w) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(id, w));
+        docs.put(id, new Doc(id, product.getName(), product.getCategoryId(), product.getStatus(),
+                Set.copyOf(tags),
+                product.getDownloadCount() != null ? product.getDownloadCount() : 0L,
+                Set.copyOf(weights.keySet())));
+    }
+
+    private void addField(Map<String, Float> weights, String text, float weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    private void remove(Long productId) {
+        Doc doc = docs.remove(productId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private record Doc(Long id, String name, Long categoryId, String status, Set<String> tags,
+                       long downloadCount, Set<String> terms) {}
+
+    private record Scored(Doc doc, float score) {}
+}
@@ -0,0 +1,25 @@
+package com.qtplatform.product.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchQuery {
+
+    private String keyword;
+    private Long categoryId;
+    private String tag;
+    private String status;
+    // Treat the last keyword token as a prefix (search-as-you-type)
+    @Builder.Default
+    private boolean prefix = true;
+    @Builder.Default
+    private int page = 1;
+    @Builder.Default
+    private int size = 20;
+}
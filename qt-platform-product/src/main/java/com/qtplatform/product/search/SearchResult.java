@@ -0,0 +1,17 @@
+package com.qtplatform.product.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+
+    // Product ids of the requested page, best match first
+    private List<Long> ids;
+    private long total;
+}
@@ -0,0 +1,207 @@
+package com.qtplatform.product.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qtplatform.common.cache.CacheInvalidationBus;
+import com.qtplatform.common.cache.CacheInvalidationListener;
+import com.qtplatform.common.cache.CacheRegion;
+import com.qtplatform.common.response.ApiResponse;
+import com.qtplatform.product.dto.CategoryVO;
+import com.qtplatform.product.entity.Category;
+import com.qtplatform.product.repository.CategoryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the categories table. Categories change rarely, so all rows
+ * are loaded with one query and turned into an id dictionary, the category tree
+ * and its pre-serialized response body. The whole snapshot is dropped on any write,
+ * on this node directly and on the others through the invalidation bus.
+ *
+ * <p>Every drop bumps a generation counter, and a load only publishes its snapshot if
+ * the generation is unchanged since it started querying, so a load racing a write
+ * cannot put the old rows back. Callers get copies of the tree nodes; the cached
+ * ones are never handed out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryCache implements CacheInvalidationListener {
+
+    private final CategoryMapper categoryMapper;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public Map<Long, Category> getAll() {
+        return current().byId();
+    }
+
+    public Category get(Long id) {
+        return id == null ? null : getAll().get(id);
+    }
+
+    public String getName(Long id) {
+        Category category = get(id);
+        return category != null ? category.getName() : null;
+    }
+
+    public List<CategoryVO> getTree() {
+        return copyOf(current().tree());
+    }
+
+    public CategoryVO getNode(Long id) {
+        CategoryVO node = current().nodes().get(id);
+        return node != null ? copyOf(node) : null;
+    }
+
+    /**
+     * Serialized {@code ApiResponse.success(tree)} and its ETag, built once per snapshot.
+     */
+    public TreeBody getTreeBody() {
+        return current().treeBody();
+    }
+
+    public void invalidate() {
+        drop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // A load between the write and the commit would still see the old rows
+                    drop();
+                    invalidationBus.publishAll(CacheRegion.CATEGORY);
+                }
+            });
+        } else {
+            invalidationBus.publishAll(CacheRegion.CATEGORY);
+        }
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.CATEGORY;
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        drop();
+    }
+
+    @Override
+    public void reload() {
+        drop();
+    }
+
+    private void drop() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = load();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot load() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        long loadedGeneration = generation.get();
+        List<Category> all = categoryMapper.findAllOrdered();
+        Map<Long, Category> byId = new HashMap<>(all.size() * 2);
+        Map<Long, CategoryVO> nodes = new HashMap<>(all.size() * 2);
+        for (Category category : all) {
+            byId.put(category.getId(), category);
+            nodes.put(category.getId(), toVO(category));
+        }
+
+        // Rows are ordered by sort_order, so children keep that order
+        Map<Long, List<CategoryVO>> childrenByParent = new HashMap<>();
+        List<CategoryVO> roots = new ArrayList<>();
+        for (Category category : all) {
+            CategoryVO node = nodes.get(category.getId());
+            if (category.getParentId() == null) {
+                roots.add(node);
+            } else if (nodes.containsKey(category.getParentId())) {
+                childrenByParent.computeIfAbsent(category.getParentId(), k -> new ArrayList<>()).add(node);
+            }
+        }
+        childrenByParent.forEach((parentId, children) ->
+                nodes.get(parentId).setChildren(Collections.unmodifiableList(children)));
+
+        List<CategoryVO> tree = Collections.unmodifiableList(roots);
+        current = new Snapshot(Map.copyOf(byId), tree, Map.copyOf(nodes), serialize(tree));
+        if (generation.get() == loadedGeneration) {
+            snapshot = current;
+        }
+        log.debug("Category cache loaded: {} categories, {} roots", all.size(), roots.size());
+        return current;
+    }
+
+    private TreeBody serialize(List<CategoryVO> tree) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(ApiResponse.success(tree));
+            return new TreeBody(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize category tree", e);
+        }
+    }
+
+    private CategoryVO toVO(Category category) {
+        return CategoryVO.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .nameEn(category.getNameEn())
+                .slug(category.getSlug())
+                .parentId(category.getParentId())
+                .sortOrder(category.getSortOrder())
+                .icon(category.getIcon())
+                .build();
+    }
+
+    private static List<CategoryVO> copyOf(List<CategoryVO> nodes) {
+        List<CategoryVO> copies = new ArrayList<>(nodes.size());
+        for (CategoryVO node : nodes) {
+            copies.add(copyOf(node));
+        }
+        return copies;
+    }
+
+    private static CategoryVO copyOf(CategoryVO node) {
+        return CategoryVO.builder()
+                .id(node.getId())
+                .name(node.getName())
+                .nameEn(node.getNameEn())
+                .slug(node.getSlug())
+                .parentId(node.getParentId())
+                .sortOrder(node.getSortOrder())
+                .icon(node.getIcon())
+                .children(node.getChildren() != null ? copyOf(node.getChildren()) : null)
+                .build();
+    }
+
+    public record TreeBody(byte[] json, String etag) {}
+
+    private record Snapshot(Map<Long, Category> byId, List<CategoryVO> tree,
+                            Map<Long, CategoryVO> nodes, TreeBody treeBody) {}
+}
@@ -9,25 +9,28 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
 
     private final CategoryMapper categoryMapper;
+    private final CategoryCache categoryCache;
 
     public List<CategoryVO> getAllCategories() {
-        List<Category> topLevel = categoryMapper.findTopLevel();
-        return topLevel.stream().map(this::toCategoryVOWithChildren).collect(Collectors.toList());
+        return categoryCache.getTree();
+    }
+
+    public CategoryCache.TreeBody getCategoryTreeBody() {
+        return categoryCache.getTreeBody();
     }
 
     public CategoryVO getCategoryById(Long id) {
-        Category category = categoryMapper.selectById(id);
+        CategoryVO category = categoryCache.getNode(id);
         if (category == null) {
             throw new BusinessException(ErrorCode.CATEGORY_NOT_FOUND);
         }
-        return toCategoryVOWithChildren(category);
+        return category;
     }
 
     public CategoryVO createCategory(String name, String nameEn, String slug, Long parentId, Integer sortOrder, String icon) {
@@ -44,6 +47,7 @@ public class CategoryService {
                 .icon(icon)
                 .build();
         categoryMapper.insert(category);
+        categoryCache.invalidate();
         return toVO(category);
     }
 
@@ -65,6 +69,7 @@ public class CategoryService {
         if (icon != null) category.setIcon(icon);
 
         categoryMapper.updateById(category);
+        categoryCache.invalidate();
         return toVO(category);
     }
 
@@ -79,15 +84,7 @@ public class CategoryService {
             throw new BusinessException(ErrorCode.PARAM_INVALID, "该分类下有子分类，无法删除");
         }
         categoryMapper.deleteById(id);
-    }
-
-    private CategoryVO toCategoryVOWithChildren(Category category) {
-        CategoryVO vo = toVO(category);
-        List<Category> children = categoryMapper.findByParentId(category.getId());
-        if (!children.isEmpty()) {
-            vo.setChildren(children.stream().map(this::toCategoryVOWithChildren).collect(Collectors.toList()));
-        }
-        return vo;
+        categoryCache.invalidate();
     }
 
     private CategoryVO toVO(Category category) {
@@ -0,0 +1,189 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.util.FileUtil;
+import com.qtplatform.file.service.FileStorageService;
+import com.qtplatform.file.storage.StorageBackend;
+import com.qtplatform.file.storage.StorageBackends;
+import com.qtplatform.product.config.DeltaConfig;
+import com.qtplatform.product.delta.DeltaDecoder;
+import com.qtplatform.product.delta.DeltaEncoder;
+import com.qtplatform.product.entity.DeltaUpdate;
+import com.qtplatform.product.entity.ProductVersion;
+import com.qtplatform.product.repository.DeltaUpdateMapper;
+import com.qtplatform.product.repository.ProductVersionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates binary deltas from the most recent earlier releases to a newly published
+ * version. Runs as a background job after the publish commits; each delta is
+ * decoded once and checked against the target's SHA-256 before it is recorded, so
+ * clients are only ever offered deltas known to reproduce the full package.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeltaUpdateService {
+
+    private static final String DELTA_DIR = "deltas";
+    private static final String DELTA_EXTENSION = ".qtdelta";
+
+    private final ProductVersionMapper versionMapper;
+    private final DeltaUpdateMapper deltaUpdateMapper;
+    private final StorageBackends storageBackends;
+    private final FileStorageService fileStorageService;
+    private final LatestVersionCache latestVersionCache;
+    private final DeltaConfig deltaConfig;
+
+    public void generateDeltas(Long versionId) throws Exception {
+        if (!deltaConfig.isEnabled()) {
+            return;
+        }
+        ProductVersion target = versionMapper.selectById(versionId);
+        if (target == null || !"PUBLISHED".equals(target.getStatus())) {
+            return;
+        }
+        generateDeltas(target);
+    }
+
+    /**
+     * Fails only when the target package cannot be read, so the job is retried;
+     * a failed individual delta is logged and skipped.
+     */
+    public void generateDeltas(ProductVersion target) throws Exception {
+        List<ProductVersion> sources = versionMapper.findPreviousPublished(target.getProductId(),
+                target.getPlatform(), target.getArchitecture(), target.getVersionCode(), deltaConfig.getMaxSources());
+        List<ProductVersion> pending = new ArrayList<>();
+        for (ProductVersion source : sources) {
+            if (deltaUpdateMapper.findDelta(source.getId(), target.getId(),
+                    target.getPlatform(), target.getArchitecture()).isEmpty()) {
+                pending.add(source);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Path targetFile = null;
+        boolean targetTemporary = false;
+        int created = 0;
+        try {
+            Optional<Path> local = localCopy(target);
+            targetTemporary = local.isEmpty();
+            targetFile = targetTemporary ? materialize(target) : local.get();
+            for (ProductVersion source : pending) {
+                try {
+                    if (generate(source, target, targetFile)) {
+                        created++;
+                    }
+                } catch (Exception e) {
+                    log.warn("Delta {} -> {} for product {} failed: {}", source.getVersionNumber(),
+                            target.getVersionNumber(), target.getProductId(), e.getMessage());
+                }
+            }
+        } finally {
+            if (targetTemporary) {
+                fileStorageService.deleteQuietly(targetFile);
+            }
+        }
+
+        if (created > 0) {
+            latestVersionCache.refreshAfterCommit();
+            log.info("Generated {} delta update(s) for product {} version {}", created,
+                    target.getProductId(), target.getVersionNumber());
+        }
+    }
+
+    private boolean generate(ProductVersion source, ProductVersion target, Path targetFile) throws Exception {
+        Path sourceFile = null;
+        boolean sourceTemporary = false;
+        Path deltaFile = null;
+        Path checkFile = null;
+        try {
+            Optional<Path> local = localCopy(source);
+            sourceTemporary = local.isEmpty();
+            sourceFile = sourceTemporary ? materialize(source) : local.get();
+
+            deltaFile = fileStorageService.newStagingPath(DELTA_EXTENSION);
+            DeltaEncoder.encode(sourceFile, targetFile, deltaFile, deltaConfig.getBlockSize(),
+                    target.getChecksumSha256());
+            long deltaSize = Files.size(deltaFile);
+            if (deltaSize >= target.getFileSize() * deltaConfig.getMaxSizeRatio()) {
+                log.debug("Delta {} -> {} is {} bytes, not worth offering", source.getVersionNumber(),
+                        target.getVersionNumber(), deltaSize);
+                return false;
+            }
+
+            checkFile = fileStorageService.newStagingPath(".check");
+            try (InputStream in = Files.newInputStream(deltaFile)) {
+                DeltaDecoder.apply(sourceFile, in, checkFile);
+            }
+            String sha256 = FileUtil.sha256(deltaFile);
+
+            StorageBackend backend = storageBackends.active();
+            String key = DELTA_DIR + "/" + target.getProductId() + "/" + source.getId() + "-" + target.getId()
+                    + DELTA_EXTENSION;
+            backend.put(key, deltaFile, "application/octet-stream");
+
+            DeltaUpdate delta = DeltaUpdate.builder()
+                    .productId(target.getProductId())
+                    .fromVersionId(source.getId())
+                    .toVersionId(target.getId())
+                    .platform(target.getPlatform())
+                    .architecture(target.getArchitecture())
+                    .fileName(stripExtension(target.getFileName()) + "-from-" + source.getVersionNumber()
+                            + DELTA_EXTENSION)
+                    .fileSize(deltaSize)
+                    .filePath(key)
+                    .storageType(backend.type())
+                    .checksumSha256(sha256)
+                    .build();
+            try {
+                deltaUpdateMapper.insert(delta);
+            } catch (DuplicateKeyException e) {
+                // Another node generated the same delta; the encoding is deterministic, so the stored object matches
+                return false;
+            }
+            return true;
+        } finally {
+            if (sourceTemporary) {
+                fileStorageService.deleteQuietly(sourceFile);
+            }
+            fileStorageService.deleteQuietly(deltaFile);
+            fileStorageService.deleteQuietly(checkFile);
+        }
+    }
+
+    private Optional<Path> localCopy(ProductVersion version) {
+        return storageBackends.forType(version.getStorageType()).localPath(version.getFilePath())
+                .filter(Files::exists);
+    }
+
+    // Object storage has no random access worth mmapping; pull the package into staging first
+    private Path materialize(ProductVersion version) throws Exception {
+        StorageBackend backend = storageBackends.forType(version.getStorageType());
+        Path staged = fileStorageService.newStagingPath(".src");
+        try (InputStream in = backend.get(version.getFilePath())) {
+            FileUtil.copyAndDigest(in, staged);
+        } catch (IOException e) {
+            fileStorageService.deleteQuietly(staged);
+            throw e;
+        }
+        return staged;
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
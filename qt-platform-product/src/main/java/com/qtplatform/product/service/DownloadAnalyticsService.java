@@ -0,0 +1,74 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.util.BatchingWriter;
+import com.qtplatform.common.util.IpUtil;
+import com.qtplatform.common.util.TextUtil;
+import com.qtplatform.product.dto.DownloadEvent;
+import com.qtplatform.product.repository.DownloadRecordMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Per-download analytics for download_records. The request path only offers an event
+ * to a {@link BatchingWriter}, so a slow or failing database never slows a download.
+ */
+@Service
+@RequiredArgsConstructor
+public class DownloadAnalyticsService {
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private final DownloadRecordMapper downloadRecordMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${stats.download-records.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stats.download-records.buffer-capacity:65536}")
+    private int bufferCapacity;
+
+    @Value("${stats.download-records.batch-size:500}")
+    private int batchSize;
+
+    private BatchingWriter<DownloadEvent> writer;
+
+    @PostConstruct
+    public void init() {
+        writer = new BatchingWriter<>("download records", bufferCapacity, batchSize,
+                downloadRecordMapper::insertBatch, meterRegistry,
+                "qt.downloads.analytics.events", "qt.downloads.analytics.buffered");
+    }
+
+    public void record(Long productId, Long versionId, Long userId, String ip, String userAgent, Long fileSize) {
+        if (!enabled) {
+            return;
+        }
+        writer.offer(DownloadEvent.builder()
+                .productId(productId)
+                .versionId(versionId)
+                .userId(userId)
+                .ipAddress(IpUtil.literalOrNull(ip))
+                .userAgent(TextUtil.truncate(userAgent, MAX_USER_AGENT_LENGTH))
+                .downloadAt(OffsetDateTime.now())
+                .fileSize(fileSize)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${stats.download-records.flush-interval-ms:1000}",
+            initialDelayString = "${stats.download-records.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        writer.flush();
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        writer.flush();
+    }
+}
@@ -0,0 +1,221 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.constant.RedisKeys;
+import com.qtplatform.product.dto.CounterDelta;
+import com.qtplatform.product.repository.ProductMapper;
+import com.qtplatform.product.repository.ProductVersionMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind download counters. Requests only bump a node-local counter; a
+ * scheduled flush pushes the deltas into Redis hashes (shared by all nodes) and
+ * then drains those hashes into the database with one batched UPDATE per table.
+ *
+ * <p>A hash being drained is renamed to a {@code :flushing:<millis>:<uuid>} key first.
+ * If a node dies before deleting it, the leftover is merged back into the shared
+ * hash once it is old enough that no live node can still be draining it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DownloadCounterService {
+
+    private static final String VERSION_KEY = RedisKeys.STATS_DOWNLOAD + "version";
+    private static final String PRODUCT_KEY = RedisKeys.STATS_DOWNLOAD + "product";
+    private static final String FLUSHING_SUFFIX = ":flushing:";
+    private static final long ABANDONED_AFTER_MS = TimeUnit.MINUTES.toMillis(5);
+
+    // Adds every field of KEYS[1] into KEYS[2] and deletes KEYS[1], so only one node recovers it
+    private static final DefaultRedisScript<Long> MERGE_SCRIPT = new DefaultRedisScript<>(
+            "local e = redis.call('hgetall', KEYS[1]) " +
+            "for i = 1, #e, 2 do redis.call('hincrby', KEYS[2], e[i], e[i + 1]) end " +
+            "redis.call('del', KEYS[1]) return #e / 2",
+            Long.class);
+
+    private final ProductVersionMapper versionMapper;
+    private final ProductMapper productMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final ConcurrentHashMap<Long, Long> versionCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> productCounts = new ConcurrentHashMap<>();
+
+    public void recordDownload(Long productId, Long versionId) {
+        // merge and drain's remove are atomic per key, so every increment lands in exactly one flush
+        versionCounts.merge(versionId, 1L, Long::sum);
+        productCounts.merge(productId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${stats.download.flush-interval-ms:5000}",
+            initialDelayString = "${stats.download.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recoverAbandoned();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.download.recover-interval-ms:600000}",
+            initialDelayString = "${stats.download.recover-interval-ms:600000}")
+    public void recoverAbandoned() {
+        recoverAbandoned(VERSION_KEY);
+        recoverAbandoned(PRODUCT_KEY);
+    }
+
+    public synchronized void flush() {
+        Map<Long, Long> versionDeltas = drain(versionCounts);
+        Map<Long, Long> productDeltas = drain(productCounts);
+
+        boolean pushed = pushToRedis(VERSION_KEY, versionDeltas) && pushToRedis(PRODUCT_KEY, productDeltas);
+        if (!pushed) {
+            // Redis unavailable: write this node's deltas straight to the database
+            writeToDatabase(versionDeltas, versionMapper::batchIncrementDownloadCount);
+            writeToDatabase(productDeltas, productMapper::batchIncrementDownloadCount);
+            return;
+        }
+
+        drainRedis(VERSION_KEY, versionMapper::batchIncrementDownloadCount);
+        drainRedis(PRODUCT_KEY, productMapper::batchIncrementDownloadCount);
+    }
+
+    private Map<Long, Long> drain(ConcurrentHashMap<Long, Long> counts) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Long id : counts.keySet()) {
+            Long n = counts.remove(id);
+            if (n != null && n > 0) {
+                deltas.put(id, n);
+            }
+        }
+        return deltas;
+    }
+
+    private boolean pushToRedis(String key, Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                deltas.forEach((id, n) -> conn.hIncrBy(key, id.toString(), n));
+                return null;
+            });
+            deltas.clear();
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to push download counters to Redis, falling back to database: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void drainRedis(String key, Consumer<List<CounterDelta>> writer) {
+        // Move the shared hash aside atomically so concurrent HINCRBYs from other
+        // nodes land in a fresh hash and no delta is applied twice
+        String flushingKey = key + FLUSHING_SUFFIX + System.currentTimeMillis() + ":" + UUID.randomUUID();
+        Map<Object, Object> entries;
+        try {
+            if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+                return;
+            }
+            stringRedisTemplate.rename(key, flushingKey);
+            entries = stringRedisTemplate.opsForHash().entries(flushingKey);
+        } catch (Exception e) {
+            // Another node drained it first, or Redis is unavailable; retry next cycle
+            log.debug("Skipped draining {}: {}", key, e.getMessage());
+            return;
+        }
+
+        Map<Long, Long> deltas = new HashMap<>(entries.size() * 2);
+        entries.forEach((field, value) -> deltas.put(Long.valueOf((String) field), Long.valueOf((String) value)));
+
+        try {
+            writeBatch(deltas, writer);
+        } catch (Exception e) {
+            log.error("Failed to write download counters to database, returning them to Redis", e);
+            if (!pushToRedis(key, deltas)) {
+                // Left in place for recoverAbandoned
+                return;
+            }
+        }
+        try {
+            stringRedisTemplate.delete(flushingKey);
+        } catch (Exception e) {
+            log.warn("Failed to delete drained download counters {}: {}", flushingKey, e.getMessage());
+        }
+    }
+
+    private void recoverAbandoned(String key) {
+        String prefix = key + FLUSHING_SUFFIX;
+        List<String> abandoned = new ArrayList<>();
+        long cutoff = System.currentTimeMillis() - ABANDONED_AFTER_MS;
+        try (Cursor<String> keys = stringRedisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").build())) {
+            while (keys.hasNext()) {
+                String flushingKey = keys.next();
+                String rest = flushingKey.substring(prefix.length());
+                int colon = rest.indexOf(':');
+                try {
+                    // Keys without a timestamp predate it and are old by definition
+                    if (colon < 0 || Long.parseLong(rest.substring(0, colon)) < cutoff) {
+                        abandoned.add(flushingKey);
+                    }
+                } catch (NumberFormatException e) {
+                    abandoned.add(flushingKey);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to scan for abandoned download counters: {}", e.getMessage());
+            return;
+        }
+        for (String flushingKey : abandoned) {
+            try {
+                Long fields = stringRedisTemplate.execute(MERGE_SCRIPT, List.of(flushingKey, key));
+                log.warn("Recovered {} download counters from abandoned {}", fields, flushingKey);
+            } catch (Exception e) {
+                log.warn("Failed to recover download counters from {}: {}", flushingKey, e.getMessage());
+            }
+        }
+    }
+
+    private void writeToDatabase(Map<Long, Long> deltas, Consumer<List<CounterDelta>> writer) {
+        try {
+            writeBatch(deltas, writer);
+        } catch (Exception e) {
+            log.error("Failed to write download counters to database, {} entries lost", deltas.size(), e);
+        }
+    }
+
+    private void writeBatch(Map<Long, Long> deltas, Consumer<List<CounterDelta>> writer) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<CounterDelta> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, n) -> batch.add(new CounterDelta(id, n)));
+        writer.accept(batch);
+    }
+}
@@ -0,0 +1,129 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.cache.CacheInvalidationBus;
+import com.qtplatform.common.cache.CacheInvalidationListener;
+import com.qtplatform.common.cache.CacheRegion;
+import com.qtplatform.product.entity.DeltaUpdate;
+import com.qtplatform.product.entity.ProductVersion;
+import com.qtplatform.product.repository.DeltaUpdateMapper;
+import com.qtplatform.product.repository.ProductVersionMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Node-local snapshot of the latest published version per (product, platform, arch),
+ * together with the deltas that lead to each of those versions. The update-check path reads only from the current snapshot; writers rebuild it
+ * from the database and swap it in atomically.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestVersionCache implements CacheInvalidationListener {
+
+    private final ProductVersionMapper versionMapper;
+    private final DeltaUpdateMapper deltaUpdateMapper;
+    private final CacheInvalidationBus invalidationBus;
+
+    private volatile Snapshot snapshot = new Snapshot(0, Map.of(), Map.of());
+
+    public Optional<ProductVersion> find(Long productId, String platform, String arch) {
+        return Optional.ofNullable(snapshot.latest().get(new Key(productId, platform, arch)));
+    }
+
+    /**
+     * The delta from {@code fromVersion} to the given latest version, if one was generated.
+     */
+    public Optional<DeltaUpdate> findDelta(Long toVersionId, String fromVersion) {
+        return Optional.ofNullable(snapshot.deltas().get(new DeltaKey(toVersionId, fromVersion)));
+    }
+
+    public long getGeneration() {
+        return snapshot.generation();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    // Safety net for changes made by other nodes or directly in the database
+    @Scheduled(fixedDelayString = "${cache.latest-version.refresh-interval-ms:60000}",
+            initialDelayString = "${cache.latest-version.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot once the current transaction commits, so readers never
+     * observe uncommitted or rolled-back versions. Rebuilds immediately when called
+     * outside a transaction. Other nodes rebuild theirs via the invalidation bus.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                    invalidationBus.publishAll(CacheRegion.VERSION);
+                }
+            });
+        } else {
+            refresh();
+            invalidationBus.publishAll(CacheRegion.VERSION);
+        }
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.VERSION;
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        refresh();
+    }
+
+    @Override
+    public void reload() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        try {
+            List<ProductVersion> versions = versionMapper.findAllLatestPublished();
+            Map<Key, ProductVersion> latest = new HashMap<>(versions.size() * 2);
+            for (ProductVersion v : versions) {
+                latest.put(new Key(v.getProductId(), v.getPlatform(), v.getArchitecture()), v);
+            }
+            List<DeltaUpdate> deltaList = deltaUpdateMapper.findAllToLatestPublished();
+            Map<DeltaKey, DeltaUpdate> deltas = new HashMap<>(deltaList.size() * 2);
+            for (DeltaUpdate d : deltaList) {
+                deltas.put(new DeltaKey(d.getToVersionId(), d.getFromVersion()), d);
+            }
+            Snapshot next = new Snapshot(snapshot.generation() + 1, Map.copyOf(latest), Map.copyOf(deltas));
+            snapshot = next;
+            log.debug("Latest version snapshot rebuilt: generation={}, entries={}", next.generation(), latest.size());
+        } catch (Exception e) {
+            // Keep serving the previous snapshot rather than failing update checks
+            log.error("Failed to rebuild latest version snapshot", e);
+        }
+    }
+
+    private record Key(Long productId, String platform, String arch) {}
+
+    private record DeltaKey(Long toVersionId, String fromVersion) {}
+
+    private record Snapshot(long generation, Map<Key, ProductVersion> latest, Map<DeltaKey, DeltaUpdate> deltas) {}
+}
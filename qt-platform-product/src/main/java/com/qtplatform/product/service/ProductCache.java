@@ -0,0 +1,300 @@
+package com.qtplatform.product.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.qtplatform.common.cache.CacheInvalidationBus;
+import com.qtplatform.common.cache.CacheInvalidationListener;
+import com.qtplatform.common.cache.CacheRegion;
+import com.qtplatform.common.constant.RedisKeys;
+import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.product.dto.ProductVO;
+import com.qtplatform.product.event.ProductChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache for product reads: a short-lived node-local L1 in front of a
+ * shared Redis L2. Loads are single-flight at both levels — L1 loads one key at a
+ * time per node, and an L2 miss takes a short Redis lock so only one node hits
+ * PostgreSQL while the others wait for the value to appear. Other nodes drop their
+ * L1 entries for a changed product through the invalidation bus.
+ *
+ * <p>Each L2 key has a generation counter that eviction bumps. A loader records it
+ * before querying and only writes if it is unchanged, so a load that read the row
+ * before an update committed cannot put the old value back after the eviction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCache implements CacheInvalidationListener {
+
+    private static final String LIST_GENERATION_KEY = RedisKeys.PRODUCT_LIST + "gen";
+    private static final long LOCK_TTL_MS = 5_000;
+    private static final int LOCK_WAIT_ATTEMPTS = 20;
+    private static final long LOCK_WAIT_INTERVAL_MS = 50;
+
+    private static final String GENERATION_SUFFIX = ":gen";
+
+    // KEYS[1] value key, KEYS[2] its generation key; ARGV: generation seen, value, ttl seconds
+    private static final DefaultRedisScript<Long> WRITE_IF_CURRENT_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('get', KEYS[2]) or '') ~= ARGV[1] then return 0 end " +
+            "redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1",
+            Long.class);
+
+    // KEYS: value keys followed by their generation keys; ARGV[1] generation ttl seconds
+    private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+            "local n = #KEYS / 2 " +
+            "for i = 1, n do " +
+            "  redis.call('del', KEYS[i]) " +
+            "  redis.call('incr', KEYS[n + i]) " +
+            "  redis.call('expire', KEYS[n + i], ARGV[1]) " +
+            "end return n",
+            Long.class);
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Value("${cache.product.local-ttl-seconds:30}")
+    private long localTtlSeconds;
+
+    @Value("${cache.product.local-max-size:5000}")
+    private long localMaxSize;
+
+    @Value("${cache.product.redis-ttl-seconds:600}")
+    private long redisTtlSeconds;
+
+    private Cache<String, Object> local;
+    private JavaType productType;
+    private JavaType productListType;
+    private JavaType productPageType;
+
+    @PostConstruct
+    public void init() {
+        local = CacheBuilder.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtlSeconds, TimeUnit.SECONDS)
+                .build();
+        productType = objectMapper.constructType(ProductVO.class);
+        productListType = objectMapper.getTypeFactory().constructCollectionType(List.class, ProductVO.class);
+        productPageType = objectMapper.getTypeFactory().constructParametricType(PageResponse.class, ProductVO.class);
+    }
+
+    public ProductVO getBySlug(String slug, Supplier<ProductVO> loader) {
+        String key = RedisKeys.PRODUCT_DETAIL + "slug:" + slug;
+        return getLocal(key, () -> loadFromRedis(key, productType, loader));
+    }
+
+    public ProductVO getById(Long id, Supplier<ProductVO> loader) {
+        String key = RedisKeys.PRODUCT_DETAIL + "id:" + id;
+        return getLocal(key, () -> loadFromRedis(key, productType, loader));
+    }
+
+    public List<ProductVO> getFeatured(Supplier<List<ProductVO>> loader) {
+        String key = RedisKeys.PRODUCT_FEATURED;
+        return getLocal(key, () -> loadFromRedis(key, productListType, loader));
+    }
+
+    public PageResponse<ProductVO> getListPage(Long categoryId, String sort, int page, int size,
+                                               Supplier<PageResponse<ProductVO>> loader) {
+        String params = categoryId + ":" + sort + ":" + page + ":" + size;
+        // L1 is keyed by params only and cleared locally on change; L2 keys carry the
+        // list generation so one INCR retires every cached page across nodes
+        return getLocal(RedisKeys.PRODUCT_LIST + params,
+                () -> loadFromRedis(RedisKeys.PRODUCT_LIST + listGeneration() + ":" + params, productPageType, loader));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(event.getProductId(), event.getSlug());
+    }
+
+    public void evict(Long productId, String slug) {
+        List<String> keys = new ArrayList<>();
+        keys.add(RedisKeys.PRODUCT_DETAIL + "id:" + productId);
+        if (slug != null) {
+            keys.add(RedisKeys.PRODUCT_DETAIL + "slug:" + slug);
+        }
+        keys.add(RedisKeys.PRODUCT_FEATURED);
+
+        local.invalidateAll(keys);
+        evictLocal(Set.of(productId));
+        List<String> scriptKeys = new ArrayList<>(keys);
+        for (String key : keys) {
+            scriptKeys.add(key + GENERATION_SUFFIX);
+        }
+        try {
+            // Outlives any value written under the old generation
+            stringRedisTemplate.execute(EVICT_SCRIPT, scriptKeys, String.valueOf(redisTtlSeconds * 2));
+            stringRedisTemplate.opsForValue().increment(LIST_GENERATION_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to evict product {} from Redis cache: {}", productId, e.getMessage());
+        }
+        invalidationBus.publish(CacheRegion.PRODUCT, productId);
+    }
+
+    @Override
+    public CacheRegion region() {
+        return CacheRegion.PRODUCT;
+    }
+
+    @Override
+    public void invalidate(Collection<String> keys) {
+        Set<Long> productIds = new HashSet<>();
+        for (String key : keys) {
+            productIds.add(Long.valueOf(key));
+        }
+        evictLocal(productIds);
+    }
+
+    @Override
+    public void reload() {
+        local.invalidateAll();
+    }
+
+    // Slug entries are matched by value, so a renamed product's old slug goes too
+    private void evictLocal(Set<Long> productIds) {
+        local.asMap().entrySet().removeIf(e -> e.getKey().startsWith(RedisKeys.PRODUCT_LIST)
+                || e.getKey().equals(RedisKeys.PRODUCT_FEATURED)
+                || (e.getValue() instanceof ProductVO vo && productIds.contains(vo.getId())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getLocal(String key, Supplier<T> loader) {
+        try {
+            return (T) local.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // Surface loader exceptions (e.g. BusinessException for 404) unchanged
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T loadFromRedis(String key, JavaType type, Supplier<T> loader) {
+        T cached = read(key, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        String lockKey = key + ":lock";
+        String token = UUID.randomUUID().toString();
+        Boolean locked = tryLock(lockKey, token);
+        if (Boolean.FALSE.equals(locked)) {
+            // Another node is loading this key; wait briefly for its result
+            for (int i = 0; i < LOCK_WAIT_ATTEMPTS; i++) {
+                try {
+                    Thread.sleep(LOCK_WAIT_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                cached = read(key, type);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
+        try {
+            // List page keys embed the list generation instead, so their counter is never bumped
+            String generation = readGeneration(key);
+            T value = loader.get();
+            if (generation != null) {
+                write(key, value, generation);
+            }
+            return value;
+        } finally {
+            if (Boolean.TRUE.equals(locked)) {
+                unlock(lockKey, token);
+            }
+        }
+    }
+
+    private <T> T read(String key, JavaType type) {
+        try {
+            String json = stringRedisTemplate.opsForValue().get(key);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (Exception e) {
+            log.warn("Failed to read product cache key {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns null when Redis is unavailable, in which case nothing is written back
+    private String readGeneration(String key) {
+        try {
+            String generation = stringRedisTemplate.opsForValue().get(key + GENERATION_SUFFIX);
+            return generation != null ? generation : "";
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void write(String key, Object value, String generation) {
+        try {
+            // Jitter keeps keys written together from expiring together
+            long ttl = redisTtlSeconds + ThreadLocalRandom.current().nextLong(redisTtlSeconds / 10 + 1);
+            Long written = stringRedisTemplate.execute(WRITE_IF_CURRENT_SCRIPT,
+                    List.of(key, key + GENERATION_SUFFIX), generation,
+                    objectMapper.writeValueAsString(value), String.valueOf(ttl));
+            if (written == null || written == 0) {
+                log.debug("Product cache key {} changed while loading, not caching", key);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to write product cache key {}: {}", key, e.getMessage());
+        }
+    }
+
+    // Returns null when Redis is unavailable: load directly, L1 still collapses loads on this node
+    private Boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, token, LOCK_TTL_MS, TimeUnit.MILLISECONDS));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.debug("Failed to release cache lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private String listGeneration() {
+        try {
+            String gen = stringRedisTemplate.opsForValue().get(LIST_GENERATION_KEY);
+            return gen != null ? gen : "0";
+        } catch (Exception e) {
+            return "0";
+        }
+    }
+}
@@ -5,21 +5,30 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.qtplatform.common.exception.BusinessException;
 import com.qtplatform.common.response.ErrorCode;
 import com.qtplatform.common.response.PageResponse;
+import com.qtplatform.common.service.DashboardCounterService;
 import com.qtplatform.product.dto.*;
 import com.qtplatform.product.entity.Category;
 import com.qtplatform.product.entity.Product;
 import com.qtplatform.product.entity.ProductVersion;
-import com.qtplatform.product.repository.CategoryMapper;
 import com.qtplatform.product.repository.ProductMapper;
+import com.qtplatform.product.event.ProductChangedEvent;
 import com.qtplatform.product.repository.ProductVersionMapper;
+import com.qtplatform.product.search.ProductSearchIndex;
+import com.qtplatform.product.search.SearchQuery;
+import com.qtplatform.product.search.SearchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,29 +36,46 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductService {
 
+    private static final int CACHED_LIST_PAGES = 3;
+
     private final ProductMapper productMapper;
     private final ProductVersionMapper versionMapper;
-    private final CategoryMapper categoryMapper;
+    private final CategoryCache categoryCache;
+    private final LatestVersionCache latestVersionCache;
+    private final ProductSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCache productCache;
+    private final DashboardCounterService dashboardCounterService;
 
     public PageResponse<ProductVO> listProducts(int page, int size, Long categoryId,
                                                  String status, String sort, String keyword) {
-        Page<Product> pageParam = new Page<>(page, size);
-        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
+        String effectiveStatus = StringUtils.hasText(status) ? status : "PUBLISHED";
+        // Keyword queries are answered by the search index and ranked by relevance
+        if (StringUtils.hasText(keyword)) {
+            return search(SearchQuery.builder()
+                    .keyword(keyword)
+                    .categoryId(categoryId)
+                    .status(effectiveStatus)
+                    .page(page)
+                    .size(size)
+                    .build());
+        }
 
-        if (StringUtils.hasText(status)) {
-            wrapper.eq(Product::getStatus, status);
-        } else {
-            wrapper.eq(Product::getStatus, "PUBLISHED");
+        // First pages of the public listing are shared by most visitors
+        if ("PUBLISHED".equals(effectiveStatus) && page <= CACHED_LIST_PAGES) {
+            return productCache.getListPage(categoryId, sort, page, size,
+                    () -> queryProducts(page, size, categoryId, effectiveStatus, sort));
         }
+        return queryProducts(page, size, categoryId, effectiveStatus, sort);
+    }
+
+    private PageResponse<ProductVO> queryProducts(int page, int size, Long categoryId, String status, String sort) {
+        Page<Product> pageParam = new Page<>(page, size);
+        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(Product::getStatus, status);
         if (categoryId != null) {
             wrapper.eq(Product::getCategoryId, categoryId);
         }
-        if (StringUtils.hasText(keyword)) {
-            wrapper.and(w -> w
-                    .like(Product::getName, keyword)
-                    .or().like(Product::getNameEn, keyword)
-                    .or().like(Product::getDescription, keyword));
-        }
 
         // Sort
         if ("downloads".equals(sort)) {
@@ -63,55 +89,69 @@ public class ProductService {
         }
 
         Page<Product> result = productMapper.selectPage(pageParam, wrapper);
-        List<ProductVO> vos = result.getRecords().stream()
-                .map(this::toProductVO).collect(Collectors.toList());
+        List<ProductVO> vos = toProductVOs(result.getRecords());
 
         return PageResponse.of(vos, result.getTotal(), page, size);
     }
 
     public List<ProductVO> getFeaturedProducts() {
-        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Product::getIsFeatured, true)
-                .eq(Product::getStatus, "PUBLISHED")
-                .orderByDesc(Product::getDownloadCount)
-                .last("LIMIT 12");
+        return productCache.getFeatured(() -> {
+            LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
+            wrapper.eq(Product::getIsFeatured, true)
+                    .eq(Product::getStatus, "PUBLISHED")
+                    .orderByDesc(Product::getDownloadCount)
+                    .last("LIMIT 12");
+            return toProductVOs(productMapper.selectList(wrapper));
+        });
+    }
 
-        return productMapper.selectList(wrapper).stream()
-                .map(this::toProductVO).collect(Collectors.toList());
+    public PageResponse<ProductVO> searchProducts(String keyword, Long categoryId, String tag, int page, int size) {
+        return search(SearchQuery.builder()
+                .keyword(keyword)
+                .categoryId(categoryId)
+                .tag(tag)
+                .status("PUBLISHED")
+                .page(page)
+                .size(size)
+                .build());
     }
 
-    public PageResponse<ProductVO> searchProducts(String keyword, int page, int size) {
-        Page<Product> pageParam = new Page<>(page, size);
-        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Product::getStatus, "PUBLISHED")
-                .and(w -> w
-                        .like(Product::getName, keyword)
-                        .or().like(Product::getNameEn, keyword)
-                        .or().like(Product::getDescription, keyword)
-                        .or().like(Product::getDescriptionEn, keyword));
-        wrapper.orderByDesc(Product::getDownloadCount);
+    public List<String> suggest(String keyword, int limit) {
+        return searchIndex.suggest(keyword, limit);
+    }
 
-        Page<Product> result = productMapper.selectPage(pageParam, wrapper);
-        List<ProductVO> vos = result.getRecords().stream()
-                .map(this::toProductVO).collect(Collectors.toList());
+    private PageResponse<ProductVO> search(SearchQuery query) {
+        SearchResult result = searchIndex.search(query);
+        if (result.getIds().isEmpty()) {
+            return PageResponse.of(Collections.emptyList(), result.getTotal(), query.getPage(), query.getSize());
+        }
 
-        return PageResponse.of(vos, result.getTotal(), page, size);
+        // Load the page in one query and restore relevance order
+        Map<Long, Product> byId = productMapper.selectBatchIds(result.getIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<Product> products = result.getIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PageResponse.of(toProductVOs(products), result.getTotal(), query.getPage(), query.getSize());
     }
 
     public ProductVO getProductBySlug(String slug) {
-        Product product = productMapper.findBySlug(slug)
-                .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
-        // Increment view count asynchronously
-        productMapper.incrementViewCount(product.getId());
-        return toProductVO(product);
+        return productCache.getBySlug(slug, () -> {
+            Product product = productMapper.findBySlug(slug)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.PRODUCT_NOT_FOUND));
+            return toProductVO(product);
+        });
     }
 
     public ProductVO getProductById(Long id) {
-        Product product = productMapper.selectById(id);
-        if (product == null) {
-            throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
-        }
-        return toProductVO(product);
+        return productCache.getById(id, () -> {
+            Product product = productMapper.selectById(id);
+            if (product == null) {
+                throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
+            }
+            return toProductVO(product);
+        });
     }
 
     @Transactional
@@ -140,6 +180,8 @@ public class ProductService {
                 .isFeatured(false)
                 .build();
         productMapper.insert(product);
+        dashboardCounterService.adjust(DashboardCounterService.TOTAL_PRODUCT_COUNT, 1);
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), product.getSlug()));
 
         log.info("Product created: {} (id={})", product.getName(), product.getId());
         return toProductVO(product);
@@ -165,6 +207,7 @@ public class ProductService {
         if (request.getIsFeatured() != null) product.setIsFeatured(request.getIsFeatured());
 
         productMapper.updateById(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, product.getSlug()));
         return toProductVO(product);
     }
 
@@ -175,6 +218,12 @@ public class ProductService {
             throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
         }
         productMapper.deleteById(id);
+        dashboardCounterService.adjust(DashboardCounterService.TOTAL_PRODUCT_COUNT, -1);
+        dashboardCounterService.adjustForTransition(DashboardCounterService.PUBLISHED_PRODUCT_COUNT, "PUBLISHED",
+                product.getStatus(), null);
+        // Versions are removed by ON DELETE CASCADE
+        latestVersionCache.refreshAfterCommit();
+        eventPublisher.publishEvent(new ProductChangedEvent(id, product.getSlug()));
         log.info("Product deleted: {} (id={})", product.getName(), id);
     }
 
@@ -183,20 +232,32 @@ public class ProductService {
         if (product == null) {
             throw new BusinessException(ErrorCode.PRODUCT_NOT_FOUND);
         }
+        dashboardCounterService.adjustForTransition(DashboardCounterService.PUBLISHED_PRODUCT_COUNT, "PUBLISHED",
+                product.getStatus(), status);
         product.setStatus(status);
         if ("PUBLISHED".equals(status) && product.getPublishedAt() == null) {
             product.setPublishedAt(OffsetDateTime.now());
         }
         productMapper.updateById(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, product.getSlug()));
         log.info("Product {} audit -> {}", id, status);
     }
 
+    private List<ProductVO> toProductVOs(List<Product> products) {
+        // Resolve all category names for the page from one dictionary snapshot
+        Map<Long, Category> categories = categoryCache.getAll();
+        return products.stream()
+                .map(p -> toProductVO(p, categories))
+                .collect(Collectors.toList());
+    }
+
     private ProductVO toProductVO(Product product) {
-        String categoryName = null;
-        if (product.getCategoryId() != null) {
-            Category category = categoryMapper.selectById(product.getCategoryId());
-            if (category != null) categoryName = category.getName();
-        }
+        return toProductVO(product, categoryCache.getAll());
+    }
+
+    private ProductVO toProductVO(Product product, Map<Long, Category> categories) {
+        Category category = product.getCategoryId() != null ? categories.get(product.getCategoryId()) : null;
+        String categoryName = category != null ? category.getName() : null;
 
         return ProductVO.builder()
                 .id(product.getId())
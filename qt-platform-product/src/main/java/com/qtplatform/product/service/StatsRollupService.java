@@ -0,0 +1,227 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.constant.RedisKeys;
+import com.qtplatform.common.exception.BusinessException;
+import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.product.dto.CounterDelta;
+import com.qtplatform.product.dto.ProductStatsSummary;
+import com.qtplatform.product.dto.StatsBreakdownItem;
+import com.qtplatform.product.dto.StatsGranularity;
+import com.qtplatform.product.dto.StatsPoint;
+import com.qtplatform.product.repository.StatsRollupMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hourly and daily statistics rollups, so trend queries never touch download_records.
+ *
+ * <p>Downloads are rolled up incrementally: each run recomputes only the hours since
+ * the last run (plus a few hours back for late-arriving records) from the raw
+ * partitions and overwrites them in stats_hourly, so a run is idempotent and a
+ * failed one is simply redone. Views have no raw table; their per-product deltas are
+ * added to the current hour as {@link ViewCounterService} flushes them. Days touched
+ * by a run are then rebuilt in stats_daily from stats_hourly.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatsRollupService {
+
+    private static final String DOWNLOADS_STATE = "downloads";
+    private static final Set<String> DIMENSIONS = Set.of("version", "platform", "country");
+    private static final int MAX_HOURLY_RANGE_DAYS = 31;
+    private static final int MAX_DAILY_RANGE_DAYS = 3 * 366;
+    private static final long LOCK_TTL_MINUTES = 30;
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StatsRollupMapper statsRollupMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${stats.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stats.rollup.zone:Asia/Shanghai}")
+    private ZoneId zone;
+
+    @Value("${stats.rollup.late-hours:2}")
+    private int lateHours;
+
+    @Value("${stats.rollup.backfill-days:30}")
+    private int backfillDays;
+
+    @Value("${stats.rollup.hourly-retention-days:90}")
+    private int hourlyRetentionDays;
+
+    @Scheduled(fixedDelayString = "${stats.rollup.interval-ms:300000}",
+            initialDelayString = "${stats.rollup.interval-ms:300000}")
+    public void scheduledRollup() {
+        if (!enabled) {
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        if (!tryLock(token)) {
+            return;
+        }
+        try {
+            rollup();
+        } catch (Exception e) {
+            // Progress is only saved after a complete run; the next run redoes this window
+            log.error("Statistics rollup failed", e);
+        } finally {
+            unlock(token);
+        }
+    }
+
+    public void rollup() {
+        long startNanos = System.nanoTime();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        OffsetDateTime processedUntil = statsRollupMapper.findProcessedUntil(DOWNLOADS_STATE);
+        OffsetDateTime from = processedUntil != null
+                ? processedUntil.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).minusHours(lateHours)
+                : currentHour.minusDays(backfillDays);
+        // The current hour is rolled up as far as it goes and redone on the next run
+        OffsetDateTime end = currentHour.plusHours(1);
+
+        // One day of raw records per statement keeps each scan on one or two partitions
+        int hourRows = 0;
+        for (OffsetDateTime chunk = from; chunk.isBefore(end); ) {
+            OffsetDateTime chunkEnd = chunk.plusDays(1).isBefore(end) ? chunk.plusDays(1) : end;
+            hourRows += statsRollupMapper.rollupHourlyDownloads(chunk, chunkEnd);
+            chunk = chunkEnd;
+        }
+
+        int dayRows = 0;
+        LocalDate lastDay = now.atZoneSameInstant(zone).toLocalDate();
+        for (LocalDate day = from.atZoneSameInstant(zone).toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+            dayRows += statsRollupMapper.rollupDaily(startOf(day), startOf(day.plusDays(1)), zone.getId());
+        }
+
+        statsRollupMapper.saveProcessedUntil(DOWNLOADS_STATE, currentHour);
+        int purged = statsRollupMapper.purgeHourly(currentHour.minusDays(hourlyRetentionDays));
+        log.debug("Statistics rollup from {}: {} hourly rows, {} daily rows, {} purged in {} ms", from,
+                hourRows, dayRows, purged, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+    }
+
+    /**
+     * Adds flushed view deltas to the current hour. Best effort: a failure loses the
+     * views from the trend, never from the product's view_count.
+     */
+    public void addViews(List<CounterDelta> deltas) {
+        if (!enabled || deltas.isEmpty()) {
+            return;
+        }
+        try {
+            statsRollupMapper.addHourlyViews(OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS), deltas);
+        } catch (Exception e) {
+            log.warn("Failed to add {} view deltas to hourly statistics: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Trend between two dates in the stats zone, both inclusive, with empty buckets
+     * filled with zeros.
+     */
+    public List<StatsPoint> getTrend(StatsGranularity granularity, LocalDate from, LocalDate to, Long productId,
+                                     Long versionId, String platform, String country) {
+        int maxDays = granularity == StatsGranularity.HOUR ? MAX_HOURLY_RANGE_DAYS : MAX_DAILY_RANGE_DAYS;
+        validateRange(from, to, maxDays);
+        LocalDate endExclusive = to.plusDays(1);
+
+        List<StatsPoint> rows;
+        if (granularity == StatsGranularity.HOUR) {
+            if (from.isBefore(LocalDate.now(zone).minusDays(hourlyRetentionDays))) {
+                throw new BusinessException(ErrorCode.PARAM_INVALID,
+                        "小时粒度统计仅保留最近 " + hourlyRetentionDays + " 天");
+            }
+            rows = statsRollupMapper.hourlyTrend(startOf(from), startOf(endExclusive), zone.getId(),
+                    productId, versionId, platform, country);
+        } else {
+            rows = statsRollupMapper.dailyTrend(from, endExclusive, productId, versionId, platform, country);
+        }
+
+        Map<LocalDateTime, StatsPoint> byBucket = new HashMap<>(rows.size() * 2);
+        for (StatsPoint row : rows) {
+            byBucket.put(row.getBucket(), row);
+        }
+        ChronoUnit unit = granularity == StatsGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime last = endExclusive.atStartOfDay();
+        List<StatsPoint> points = new ArrayList<>();
+        for (LocalDateTime bucket = from.atStartOfDay(); bucket.isBefore(last); bucket = bucket.plus(1, unit)) {
+            StatsPoint point = byBucket.get(bucket);
+            points.add(point != null ? point : StatsPoint.builder().bucket(bucket).build());
+        }
+        return points;
+    }
+
+    public List<ProductStatsSummary> getTopProducts(LocalDate from, LocalDate to, int limit) {
+        validateRange(from, to, MAX_DAILY_RANGE_DAYS);
+        return statsRollupMapper.topProducts(from, to.plusDays(1), limit);
+    }
+
+    public List<StatsBreakdownItem> getBreakdown(String dimension, LocalDate from, LocalDate to, Long productId,
+                                                 int limit) {
+        if (!DIMENSIONS.contains(dimension)) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "不支持的统计维度: " + dimension);
+        }
+        if ("version".equals(dimension) && productId == null) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "按版本统计需要指定产品");
+        }
+        validateRange(from, to, MAX_DAILY_RANGE_DAYS);
+        return statsRollupMapper.breakdown(dimension, from, to.plusDays(1), productId, limit);
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to, int maxDays) {
+        if (from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "开始日期不能晚于结束日期");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BusinessException(ErrorCode.PARAM_INVALID, "查询范围不能超过 " + maxDays + " 天");
+        }
+    }
+
+    private OffsetDateTime startOf(LocalDate day) {
+        return day.atStartOfDay(zone).toOffsetDateTime();
+    }
+
+    private boolean tryLock(String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(
+                    RedisKeys.LOCK_STATS_ROLLUP, token, LOCK_TTL_MINUTES, TimeUnit.MINUTES));
+        } catch (Exception e) {
+            log.warn("Statistics rollup lock unavailable, skipping run: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void unlock(String token) {
+        try {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(RedisKeys.LOCK_STATS_ROLLUP), token);
+        } catch (Exception e) {
+            log.debug("Failed to release statistics rollup lock: {}", e.getMessage());
+        }
+    }
+}
@@ -2,11 +2,19 @@ package com.qtplatform.product.service;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.qtplatform.common.exception.BusinessException;
+import com.qtplatform.common.job.JobQueue;
 import com.qtplatform.common.response.ErrorCode;
 import com.qtplatform.common.util.SemanticVersion;
+import com.qtplatform.file.entity.FileRecord;
+import com.qtplatform.file.repository.FileRecordMapper;
+import com.qtplatform.file.storage.LocalStorageBackend;
 import com.qtplatform.product.dto.CreateVersionRequest;
 import com.qtplatform.product.dto.ProductVersionVO;
+import com.qtplatform.product.dto.VersionJobPayload;
+import com.qtplatform.product.entity.DeltaUpdate;
 import com.qtplatform.product.entity.ProductVersion;
+import com.qtplatform.product.job.GenerateDeltasJob;
+import com.qtplatform.product.job.VerifyChecksumJob;
 import com.qtplatform.product.repository.ProductVersionMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +31,9 @@ import java.util.stream.Collectors;
 public class VersionService {
 
     private final ProductVersionMapper versionMapper;
+    private final LatestVersionCache latestVersionCache;
+    private final FileRecordMapper fileRecordMapper;
+    private final JobQueue jobQueue;
 
     public List<ProductVersionVO> getVersionsByProduct(Long productId) {
         LambdaQueryWrapper<ProductVersion> wrapper = new LambdaQueryWrapper<>();
@@ -47,11 +58,15 @@ public class VersionService {
     }
 
     public ProductVersionVO getLatestPublishedVersion(Long productId, String platform, String arch) {
-        return versionMapper.findLatestPublishedWithArch(productId, platform, arch)
+        return latestVersionCache.find(productId, platform, arch)
                 .map(this::toVO)
                 .orElse(null);
     }
 
+    public DeltaUpdate getDeltaToVersion(Long toVersionId, String fromVersion) {
+        return latestVersionCache.findDelta(toVersionId, fromVersion).orElse(null);
+    }
+
     @Transactional
     public ProductVersionVO createVersion(Long productId, CreateVersionRequest request) {
         if (!SemanticVersion.isValid(request.getVersionNumber())) {
@@ -64,6 +79,15 @@ public class VersionService {
             throw new BusinessException(ErrorCode.VERSION_EXISTS);
         }
 
+        // The uploaded file tells where the bytes live; MD5 is optional in the request
+        FileRecord file = fileRecordMapper.findByFilePath(request.getFilePath()).orElse(null);
+        String md5 = request.getChecksumMd5();
+        if (md5 == null && file != null) {
+            md5 = file.getChecksumMd5();
+        }
+        String storageType = file != null && file.getStorageType() != null
+                ? file.getStorageType() : LocalStorageBackend.TYPE;
+
         // Clear previous latest flag
         versionMapper.clearLatestFlag(productId, request.getPlatform(), arch);
 
@@ -78,8 +102,9 @@ public class VersionService {
                 .fileName(request.getFileName())
                 .fileSize(request.getFileSize())
                 .filePath(request.getFilePath())
+                .storageType(storageType)
                 .checksumSha256(request.getChecksumSha256())
-                .checksumMd5(request.getChecksumMd5())
+                .checksumMd5(md5)
                 .signature(request.getSignature())
                 .downloadCount(0L)
                 .isMandatory(request.getIsMandatory() != null ? request.getIsMandatory() : false)
@@ -90,6 +115,7 @@ public class VersionService {
                 .releaseNotesEn(request.getReleaseNotesEn())
                 .build();
         versionMapper.insert(version);
+        latestVersionCache.refreshAfterCommit();
 
         log.info("Version {} created for product {}", request.getVersionNumber(), productId);
         return toVO(version);
@@ -104,6 +130,8 @@ public class VersionService {
         version.setStatus("PUBLISHED");
         version.setPublishedAt(OffsetDateTime.now());
         versionMapper.updateById(version);
+        latestVersionCache.refreshAfterCommit();
+        enqueuePublishJobs(versionId);
         log.info("Version {} published", versionId);
     }
 
@@ -121,10 +149,12 @@ public class VersionService {
         targetVersion.setIsLatest(true);
         targetVersion.setStatus("PUBLISHED");
         versionMapper.updateById(targetVersion);
+        latestVersionCache.refreshAfterCommit();
 
         log.info("Version rollback: product={}, target version={}", productId, targetVersion.getVersionNumber());
     }
 
+    @Transactional
     public void auditVersion(Long versionId, String status) {
         ProductVersion version = versionMapper.selectById(versionId);
         if (version == null) {
@@ -135,6 +165,17 @@ public class VersionService {
             version.setPublishedAt(OffsetDateTime.now());
         }
         versionMapper.updateById(version);
+        latestVersionCache.refreshAfterCommit();
+        if ("PUBLISHED".equals(status)) {
+            enqueuePublishJobs(versionId);
+        }
+    }
+
+    // Enqueued in the publishing transaction, so the follow-up work is as durable as the publish
+    private void enqueuePublishJobs(Long versionId) {
+        VersionJobPayload payload = new VersionJobPayload(versionId);
+        jobQueue.enqueue(VerifyChecksumJob.TYPE, payload, VerifyChecksumJob.TYPE + ":" + versionId);
+        jobQueue.enqueue(GenerateDeltasJob.TYPE, payload, GenerateDeltasJob.TYPE + ":" + versionId);
     }
 
     private ProductVersionVO toVO(ProductVersion v) {
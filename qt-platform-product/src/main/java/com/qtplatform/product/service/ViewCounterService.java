@@ -0,0 +1,170 @@
+package com.qtplatform.product.service;
+
+import com.qtplatform.common.constant.RedisKeys;
+import com.qtplatform.product.dto.CounterDelta;
+import com.qtplatform.product.repository.ProductMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesced product view counting. Views are buffered per product as a set of
+ * viewer keys (user id or client IP) without locking on the request path; each
+ * flush drops viewers already counted in the current dedupe window via Redis
+ * SET NX, then applies the remaining deltas in one batched UPDATE.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ViewCounterService {
+
+    // Beyond this many distinct viewers per flush, views are counted without dedupe
+    private static final int MAX_VIEWERS_PER_PRODUCT = 10_000;
+
+    private final ProductMapper productMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final StatsRollupService statsRollupService;
+
+    @Value("${stats.view.dedupe-window-seconds:1800}")
+    private long dedupeWindowSeconds;
+
+    private final ConcurrentHashMap<Long, ViewBucket> buffer = new ConcurrentHashMap<>();
+
+    // Deltas whose database write failed, retried on the next flush
+    private final Map<Long, Long> retryDeltas = new HashMap<>();
+
+    public void recordView(Long productId, String viewerKey) {
+        while (true) {
+            ViewBucket bucket = buffer.get(productId);
+            if (bucket == null) {
+                ViewBucket fresh = new ViewBucket();
+                bucket = buffer.putIfAbsent(productId, fresh);
+                if (bucket == null) {
+                    bucket = fresh;
+                }
+            }
+            // A bucket sealed by the flusher is already detached; retry into a fresh one
+            if (bucket.add(viewerKey)) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stats.view.flush-interval-ms:10000}",
+            initialDelayString = "${stats.view.flush-interval-ms:10000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        flush();
+    }
+
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>(retryDeltas);
+        retryDeltas.clear();
+
+        for (Long productId : buffer.keySet()) {
+            ViewBucket bucket = buffer.remove(productId);
+            if (bucket == null) {
+                continue;
+            }
+            bucket.seal();
+            long views = countNewViewers(productId, bucket.viewers) + bucket.overflow.sum();
+            if (views > 0) {
+                deltas.merge(productId, views, Long::sum);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<CounterDelta> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, n) -> batch.add(new CounterDelta(id, n)));
+        try {
+            productMapper.batchIncrementViewCount(batch);
+        } catch (Exception e) {
+            log.error("Failed to write view counters for {} products, will retry", deltas.size(), e);
+            retryDeltas.putAll(deltas);
+            return;
+        }
+        // Only after the counters are written, so a retried delta is not added to the trend twice
+        statsRollupService.addViews(batch);
+    }
+
+    private long countNewViewers(Long productId, Set<String> viewers) {
+        if (viewers.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = new ArrayList<>(viewers.size());
+        for (String viewer : viewers) {
+            keys.add(RedisKeys.STATS_VIEW + productId + ":" + viewer);
+        }
+        try {
+            Expiration window = Expiration.seconds(dedupeWindowSeconds);
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (String key : keys) {
+                    conn.set(key, "1", window, RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+            return results.stream().filter(Boolean.TRUE::equals).count();
+        } catch (Exception e) {
+            // Without Redis fall back to per-flush dedupe only
+            log.warn("View dedupe via Redis failed, counting {} local viewers: {}", viewers.size(), e.getMessage());
+            return viewers.size();
+        }
+    }
+
+    private static class ViewBucket {
+        private final Set<String> viewers = ConcurrentHashMap.newKeySet();
+        private final LongAdder overflow = new LongAdder();
+        private final AtomicInteger writers = new AtomicInteger();
+        private volatile boolean sealed;
+
+        // Returns false, without recording, if the flusher sealed the bucket first
+        boolean add(String viewerKey) {
+            writers.incrementAndGet();
+            try {
+                if (sealed) {
+                    return false;
+                }
+                if (viewers.size() < MAX_VIEWERS_PER_PRODUCT) {
+                    viewers.add(viewerKey);
+                } else {
+                    overflow.increment();
+                }
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        // Once this returns, every view that add() accepted is visible and no more can arrive
+        void seal() {
+            sealed = true;
+            while (writers.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.qtplatform.user.security;
 
+import com.qtplatform.common.accesslog.AccessLogFilter;
 import com.qtplatform.common.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenBlacklist tokenBlacklist;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,26 +34,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String token = extractToken(request);
 
-        if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
-            try {
-                Long userId = jwtUtil.getUserIdFromToken(token);
-                String username = jwtUtil.getUsernameFromToken(token);
-                var claims = jwtUtil.parseToken(token);
+        if (StringUtils.hasText(token)) {
+            jwtUtil.authenticate(token)
+                    .filter(principal -> !tokenBlacklist.isRevoked(principal.getTokenId()))
+                    .ifPresent(principal -> {
+                        List<SimpleGrantedAuthority> authorities = principal.getRoles().stream()
+                                .map(SimpleGrantedAuthority::new)
+                                .collect(Collectors.toList());
 
-                @SuppressWarnings("unchecked")
-                List<String> roles = claims.get("roles", List.class);
-                List<SimpleGrantedAuthority> authorities = roles != null
-                        ? roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList())
-                        : List.of();
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(principal.getUserId(), null, authorities);
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            } catch (Exception e) {
-                log.warn("JWT authentication failed: {}", e.getMessage());
-            }
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, principal.getUserId());
+                    });
         }
 
         filterChain.doFilter(request, response);
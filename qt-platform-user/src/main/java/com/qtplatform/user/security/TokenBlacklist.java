@@ -0,0 +1,131 @@
+package com.qtplatform.user.security;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.qtplatform.common.constant.RedisKeys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked access tokens, keyed by jti. Redis holds the authoritative entries with a
+ * TTL equal to the token's remaining lifetime; every node mirrors them into a local
+ * Bloom filter fed by pub/sub, so a token that was never revoked is accepted without
+ * a Redis round-trip. Only filter hits are confirmed against Redis.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenBlacklist implements MessageListener {
+
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${auth.blacklist.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    private volatile BloomFilter<CharSequence> filter;
+
+    // Revocations received while a rebuild is scanning Redis
+    private volatile Set<String> pendingDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        filter = newFilter();
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisKeys.AUTH_REVOKED_CHANNEL));
+    }
+
+    public void revoke(String tokenId, long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            return;
+        }
+        stringRedisTemplate.opsForValue().set(RedisKeys.AUTH_BLACKLIST + tokenId, "1", ttlSeconds, TimeUnit.SECONDS);
+        add(tokenId);
+        stringRedisTemplate.convertAndSend(RedisKeys.AUTH_REVOKED_CHANNEL, tokenId);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(RedisKeys.AUTH_BLACKLIST + tokenId));
+        } catch (Exception e) {
+            // Only filter hits get here, so failing closed affects very few tokens
+            log.warn("Blacklist lookup failed for filter hit, rejecting token: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Bloom filters cannot delete; rebuilding from Redis drops expired revocations
+    @Scheduled(fixedDelayString = "${auth.blacklist.rebuild-interval-ms:600000}",
+            initialDelayString = "${auth.blacklist.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        pendingDuringRebuild = pending;
+        try {
+            BloomFilter<CharSequence> next = newFilter();
+            int count = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(RedisKeys.AUTH_BLACKLIST + "*").count(1000).build();
+            try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    next.put(cursor.next().substring(RedisKeys.AUTH_BLACKLIST.length()));
+                    count++;
+                }
+            }
+            filter = next;
+            pending.forEach(next::put);
+            log.debug("Token blacklist filter rebuilt: {} entries", count);
+        } catch (Exception e) {
+            log.error("Failed to rebuild token blacklist filter, keeping the current one", e);
+        } finally {
+            pendingDuringRebuild = null;
+        }
+    }
+
+    private void add(String tokenId) {
+        // Record as pending before touching the filter so a concurrent swap cannot lose it
+        Set<String> pending = pendingDuringRebuild;
+        if (pending != null) {
+            pending.add(tokenId);
+        }
+        filter.put(tokenId);
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+}
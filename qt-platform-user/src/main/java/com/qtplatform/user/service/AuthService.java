@@ -3,6 +3,7 @@ package com.qtplatform.user.service;
 import com.qtplatform.common.constant.RedisKeys;
 import com.qtplatform.common.exception.BusinessException;
 import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.common.service.DashboardCounterService;
 import com.qtplatform.common.util.JwtUtil;
 import com.qtplatform.user.dto.*;
 import com.qtplatform.user.entity.Role;
@@ -11,6 +12,7 @@ import com.qtplatform.user.entity.UserRole;
 import com.qtplatform.user.repository.RoleMapper;
 import com.qtplatform.user.repository.UserMapper;
 import com.qtplatform.user.repository.UserRoleMapper;
+import com.qtplatform.user.security.TokenBlacklist;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -32,10 +34,12 @@ public class AuthService {
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
+    private final DashboardCounterService dashboardCounterService;
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final StringRedisTemplate stringRedisTemplate;
+    private final TokenBlacklist tokenBlacklist;
 
     @Transactional
     public void register(RegisterRequest request) {
@@ -63,6 +67,7 @@ public class AuthService {
                 .emailVerified(true)
                 .build();
         userMapper.insert(user);
+        dashboardCounterService.adjust(DashboardCounterService.USER_COUNT, 1);
 
         // Assign USER role
         Role userRole = roleMapper.findByCode("USER")
@@ -137,11 +142,12 @@ public class AuthService {
         // Remove refresh token from Redis
         stringRedisTemplate.delete(RedisKeys.AUTH_SESSION + userId);
 
-        // Add access token to blacklist (until it expires)
+        // Revoke the access token by jti until it would have expired anyway
         if (accessToken != null) {
-            stringRedisTemplate.opsForValue().set(
-                    RedisKeys.AUTH_BLACKLIST + accessToken,
-                    "1", 2, TimeUnit.HOURS);
+            jwtUtil.authenticate(accessToken).ifPresent(principal -> {
+                long ttlSeconds = (principal.getExpiration().getTime() - System.currentTimeMillis()) / 1000 + 1;
+                tokenBlacklist.revoke(principal.getTokenId(), ttlSeconds);
+            });
         }
     }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.qtplatform.common.constant.RedisKeys;
 import com.qtplatform.common.exception.BusinessException;
 import com.qtplatform.common.response.ErrorCode;
+import com.qtplatform.common.service.DashboardCounterService;
 import com.qtplatform.common.util.JwtUtil;
 import com.qtplatform.user.dto.LoginResponse;
 import com.qtplatform.user.entity.Role;
@@ -34,6 +35,7 @@ public class OAuthService {
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
+    private final DashboardCounterService dashboardCounterService;
     private final UserOauthBindingMapper oauthBindingMapper;
     private final JwtUtil jwtUtil;
     private final StringRedisTemplate stringRedisTemplate;
@@ -242,6 +244,7 @@ public class OAuthService {
                 .emailVerified(email != null && !email.endsWith("@qtplatform.local"))
                 .build();
         userMapper.insert(user);
+        dashboardCounterService.adjust(DashboardCounterService.USER_COUNT, 1);
 
         Role userRole = roleMapper.findByCode("USER")
                 .orElseThrow(() -> new BusinessException(ErrorCode.UNKNOWN_ERROR));
@@ -180,6 +180,7 @@ CREATE TABLE product_versions (
     file_size       BIGINT NOT NULL,
     file_path       VARCHAR(500) NOT NULL,
     file_url        VARCHAR(500),
+    storage_type    VARCHAR(20) DEFAULT 'LOCAL',
     checksum_md5    VARCHAR(32),
     checksum_sha256 VARCHAR(64) NOT NULL,
     signature       TEXT,
@@ -214,11 +215,14 @@ CREATE TABLE delta_updates (
     file_name       VARCHAR(255) NOT NULL,
     file_size       BIGINT NOT NULL,
     file_path       VARCHAR(500) NOT NULL,
+    storage_type    VARCHAR(20) DEFAULT 'LOCAL',
     checksum_sha256 VARCHAR(64) NOT NULL,
     created_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
     UNIQUE(from_version_id, to_version_id, platform, architecture)
 );
 
+CREATE INDEX idx_delta_updates_to ON delta_updates(to_version_id);
+
 -- ============================================================
 -- 评论表
 -- ============================================================
@@ -240,6 +244,8 @@ CREATE TABLE product_comments (
 CREATE INDEX idx_comments_product ON product_comments(product_id, status);
 CREATE INDEX idx_comments_user ON product_comments(user_id);
 CREATE INDEX idx_comments_parent ON product_comments(parent_id);
+CREATE INDEX idx_comments_thread_keyset ON product_comments(product_id, created_at DESC, id DESC)
+    WHERE parent_id IS NULL AND status = 'PUBLISHED';
 
 -- ============================================================
 -- 评论点赞表
@@ -263,10 +269,35 @@ CREATE TABLE notifications (
     content     TEXT,
     link        VARCHAR(500),
     is_read     BOOLEAN DEFAULT FALSE,
+    fanout_key  VARCHAR(64),
     created_at  TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE INDEX idx_notifications_user ON notifications(user_id, is_read, created_at DESC);
+-- 批量通知重试时按 fanout_key 去重
+CREATE UNIQUE INDEX uk_notifications_fanout ON notifications(user_id, fanout_key);
+CREATE INDEX idx_notifications_user_keyset ON notifications(user_id, created_at DESC, id DESC);
+
+-- ============================================================
+-- 全员广播通知表（一条广播 + 每用户已读标记，不按用户展开）
+-- ============================================================
+CREATE TABLE broadcast_notifications (
+    id          BIGSERIAL PRIMARY KEY,
+    type        VARCHAR(50) NOT NULL,
+    title       VARCHAR(200) NOT NULL,
+    content     TEXT,
+    link        VARCHAR(500),
+    created_at  TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_broadcast_notifications_created ON broadcast_notifications(created_at DESC, id DESC);
+
+CREATE TABLE broadcast_reads (
+    broadcast_id BIGINT NOT NULL REFERENCES broadcast_notifications(id) ON DELETE CASCADE,
+    user_id      BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    read_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, broadcast_id)
+);
 
 -- ============================================================
 -- 下载记录表（按月分区）
@@ -321,6 +352,48 @@ CREATE TABLE user_access_logs (
     PRIMARY KEY (id, created_at)
 ) PARTITION BY RANGE (created_at);
 
+-- 按月分区由 PartitionManager 在启动及定时任务中预建，过期分区分离归档后删除
+CREATE INDEX idx_access_logs_user ON user_access_logs(user_id, created_at DESC) WHERE user_id IS NOT NULL;
+CREATE INDEX idx_access_logs_created ON user_access_logs(created_at DESC);
+
+-- ============================================================
+-- 统计汇总表（按小时/按天预聚合）
+-- ============================================================
+-- 下载数由 StatsRollupService 按小时从 download_records 重算，浏览数在计数刷新时累加；
+-- 浏览数只有产品维度，对应行 version_id = 0、platform 和 country 为空串
+CREATE TABLE stats_hourly (
+    bucket_start TIMESTAMPTZ NOT NULL,
+    product_id   BIGINT NOT NULL,
+    version_id   BIGINT NOT NULL DEFAULT 0,
+    platform     VARCHAR(20) NOT NULL DEFAULT '',
+    country      VARCHAR(10) NOT NULL DEFAULT '',
+    downloads    BIGINT NOT NULL DEFAULT 0,
+    views        BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_start, product_id, version_id, platform, country)
+);
+
+CREATE INDEX idx_stats_hourly_product ON stats_hourly(product_id, bucket_start);
+
+CREATE TABLE stats_daily (
+    bucket_date  DATE NOT NULL,
+    product_id   BIGINT NOT NULL,
+    version_id   BIGINT NOT NULL DEFAULT 0,
+    platform     VARCHAR(20) NOT NULL DEFAULT '',
+    country      VARCHAR(10) NOT NULL DEFAULT '',
+    downloads    BIGINT NOT NULL DEFAULT 0,
+    views        BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (bucket_date, product_id, version_id, platform, country)
+);
+
+CREATE INDEX idx_stats_daily_product ON stats_daily(product_id, bucket_date);
+
+-- 汇总进度（已完整汇总到的时间点）
+CREATE TABLE stats_rollup_state (
+    name            VARCHAR(50) PRIMARY KEY,
+    processed_until TIMESTAMPTZ NOT NULL,
+    updated_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ============================================================
 -- 系统配置表
 -- ============================================================
@@ -344,14 +417,62 @@ CREATE TABLE file_records (
     file_size       BIGINT NOT NULL,
     mime_type       VARCHAR(100),
     checksum_sha256 VARCHAR(64),
+    checksum_md5    VARCHAR(32),
     storage_type    VARCHAR(20) DEFAULT 'LOCAL'
-                    CHECK (storage_type IN ('LOCAL', 'COS')),
+                    CHECK (storage_type IN ('LOCAL', 'COS', 'S3')),
     uploaded_by     BIGINT REFERENCES users(id),
     created_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
 );
 
 CREATE INDEX idx_files_path ON file_records(file_path);
 
+-- ============================================================
+-- 文件内容块表（内容寻址，同一存储后端内相同 SHA-256 的上传共用一个文件）
+-- ============================================================
+CREATE TABLE file_blobs (
+    sha256      VARCHAR(64) NOT NULL,
+    file_path   VARCHAR(500) NOT NULL,
+    file_size   BIGINT NOT NULL,
+    ref_count   INT NOT NULL DEFAULT 0,
+    storage_type VARCHAR(20) NOT NULL DEFAULT 'LOCAL',
+    created_at  TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (sha256, storage_type)
+);
+
+-- ============================================================
+-- 分片上传会话表
+-- ============================================================
+CREATE TABLE upload_sessions (
+    id              VARCHAR(32) PRIMARY KEY,
+    original_name   VARCHAR(255) NOT NULL,
+    file_size       BIGINT NOT NULL,
+    mime_type       VARCHAR(100),
+    sub_dir         VARCHAR(50),
+    part_size       INT NOT NULL,
+    total_parts     INT NOT NULL,
+    expected_sha256 VARCHAR(64),
+    staging_path    VARCHAR(500) NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'UPLOADING'
+                    CHECK (status IN ('UPLOADING', 'COMPLETING', 'COMPLETED', 'ABORTED')),
+    active_writes   INT NOT NULL DEFAULT 0,
+    write_started_at TIMESTAMPTZ,
+    file_id         BIGINT REFERENCES file_records(id) ON DELETE SET NULL,
+    uploaded_by     BIGINT NOT NULL REFERENCES users(id),
+    expires_at      TIMESTAMPTZ NOT NULL,
+    created_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    updated_at      TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_upload_sessions_expires ON upload_sessions(expires_at);
+
+CREATE TABLE upload_parts (
+    session_id   VARCHAR(32) NOT NULL REFERENCES upload_sessions(id) ON DELETE CASCADE,
+    part_number  INT NOT NULL,
+    part_size    BIGINT NOT NULL,
+    created_at   TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (session_id, part_number)
+);
+
 -- ============================================================
 -- 操作审计日志表
 -- ============================================================
@@ -368,6 +489,33 @@ CREATE TABLE audit_logs (
 
 CREATE INDEX idx_audit_user ON audit_logs(user_id, created_at DESC);
 CREATE INDEX idx_audit_action ON audit_logs(action, created_at DESC);
+CREATE INDEX idx_audit_keyset ON audit_logs(created_at DESC, id DESC);
+
+-- ============================================================
+-- 后台任务队列表
+-- ============================================================
+CREATE TABLE background_jobs (
+    id           BIGSERIAL PRIMARY KEY,
+    job_type     VARCHAR(50) NOT NULL,
+    payload      TEXT,
+    dedupe_key   VARCHAR(200),
+    status       VARCHAR(20) NOT NULL DEFAULT 'PENDING'
+                 CHECK (status IN ('PENDING', 'RUNNING', 'SUCCEEDED', 'DEAD')),
+    attempts     INT NOT NULL DEFAULT 0,
+    max_attempts INT NOT NULL DEFAULT 5,
+    run_at       TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    locked_by    VARCHAR(64),
+    locked_at    TIMESTAMPTZ,
+    last_error   TEXT,
+    created_at   TIMESTAMPTZ DEFAULT CURRENT_TIMESTAMP,
+    finished_at  TIMESTAMPTZ
+);
+
+-- 工作节点按类型、run_at 顺序领取到期任务
+CREATE INDEX idx_jobs_due ON background_jobs(job_type, run_at) WHERE status = 'PENDING';
+CREATE INDEX idx_jobs_running ON background_jobs(locked_at) WHERE status = 'RUNNING';
+CREATE UNIQUE INDEX uk_jobs_dedupe ON background_jobs(dedupe_key)
+    WHERE dedupe_key IS NOT NULL AND status IN ('PENDING', 'RUNNING');
 
 -- ============================================================
 -- 多语言内容表